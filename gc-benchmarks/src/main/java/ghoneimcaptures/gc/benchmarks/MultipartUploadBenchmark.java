@@ -0,0 +1,75 @@
+package ghoneimcaptures.gc.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Large-file uploads, both above S3Service's 50MB multipart threshold. {@code uploadLargeFileAsync}
+ * is the production path through the CRT Transfer Manager; {@code uploadMultipartFile} is the
+ * same call with async transfers disabled, which sends memory-mapped parts from S3Service's
+ * own part pool. {@code concurrency} (parts of one file in flight) only applies to the latter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MultipartUploadBenchmark {
+
+    @Param({"64", "256"})
+    public int fileSizeMb;
+
+    @Param({"8", "16"})
+    public int partSizeMb;
+
+    @Param({"1", "4", "8"})
+    public int concurrency;
+
+    private S3Fixture transferManagerFixture;
+    private S3Fixture partsFixture;
+    private File source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        transferManagerFixture = new S3Fixture(true, partSizeMb, concurrency);
+        partsFixture = new S3Fixture(false, partSizeMb, concurrency);
+        source = S3Fixture.randomFile((long) fileSizeMb * 1024 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transferManagerFixture.close();
+        partsFixture.close();
+        source.delete();
+    }
+
+    @Benchmark
+    public void uploadLargeFileAsync() {
+        transferManagerFixture.s3Service.uploadLargeFileAsync(S3Fixture.BUCKET, key(), source).join();
+    }
+
+    @Benchmark
+    public void uploadMultipartFile() {
+        partsFixture.s3Service.uploadLargeFileAsync(S3Fixture.BUCKET, key(), source).join();
+    }
+
+    private static String key() {
+        return "bench/" + Thread.currentThread().threadId() + ".bin";
+    }
+}
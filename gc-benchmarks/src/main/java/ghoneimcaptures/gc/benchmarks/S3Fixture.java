@@ -0,0 +1,98 @@
+package ghoneimcaptures.gc.benchmarks;
+
+import ghoneimcaptures.gc.Config.MdcTaskDecorator;
+import ghoneimcaptures.gc.LocalS3Stub;
+import ghoneimcaptures.gc.Service.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An S3Service wired the way S3ClientConfig and ExecutorConfig wire it, but pointed at a
+ * {@link LocalS3Stub}
+ */
+final class S3Fixture implements AutoCloseable {
+
+    static final String BUCKET = "bench-bucket";
+
+    final LocalS3Stub stub;
+    final S3Service s3Service;
+    private final S3Client s3Client;
+    private final S3AsyncClient asyncClient;
+    private final S3TransferManager transferManager;
+    private final S3Presigner presigner;
+    private final ExecutorService s3IoExecutor;
+
+    /**
+     * @param asyncTransfers route uploadLargeFileAsync through the CRT Transfer Manager (aws.s3.transfer.async-enabled=true)
+     */
+    S3Fixture(boolean asyncTransfers, int partSizeMb, int partConcurrency) throws IOException {
+        this.stub = LocalS3Stub.start();
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create("bench", "bench"));
+
+        this.s3Client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .endpointOverride(stub.endpoint())
+                .forcePathStyle(true)
+                .build();
+        this.asyncClient = S3AsyncClient.crtBuilder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .endpointOverride(stub.endpoint())
+                .forcePathStyle(true)
+                .minimumPartSizeInBytes((long) partSizeMb * 1024 * 1024)
+                .build();
+        this.transferManager = S3TransferManager.builder().s3Client(asyncClient).build();
+        this.presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .endpointOverride(stub.endpoint())
+                .build();
+        this.s3IoExecutor = Executors.newFixedThreadPool(32);
+
+        // Defaults from application.properties, apart from what the benchmark varies
+        this.s3Service = new S3Service(s3Client, transferManager, presigner, new SimpleMeterRegistry(),
+                new MdcTaskDecorator(), s3IoExecutor, 10000, asyncTransfers, partSizeMb, partConcurrency, 256);
+    }
+
+    /**
+     * A temp file of random (incompressible) bytes
+     */
+    static File randomFile(long size) throws IOException {
+        File file = Files.createTempFile("s3-bench-", ".bin").toFile();
+        file.deleteOnExit();
+        byte[] chunk = new byte[1024 * 1024];
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            for (long written = 0; written < size; written += chunk.length) {
+                ThreadLocalRandom.current().nextBytes(chunk);
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        return file;
+    }
+
+    @Override
+    public void close() {
+        s3Service.shutdown();
+        s3IoExecutor.shutdownNow();
+        transferManager.close();
+        asyncClient.close();
+        presigner.close();
+        s3Client.close();
+        stub.close();
+    }
+}
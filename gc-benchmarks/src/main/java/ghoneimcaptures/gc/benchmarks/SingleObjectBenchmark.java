@@ -0,0 +1,92 @@
+package ghoneimcaptures.gc.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-request transfers: one PutObject for {@code uploadFile}, one GetObject for the
+ * downloads. Run with {@code -t N} to see how they behave with N concurrent callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SingleObjectBenchmark {
+
+    private static final String SOURCE_KEY = "bench/source.bin";
+
+    @Param({"1", "16", "64"})
+    public int fileSizeMb;
+
+    private S3Fixture fixture;
+    private File source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = new S3Fixture(true, 8, 4);
+        source = S3Fixture.randomFile((long) fileSizeMb * 1024 * 1024);
+        fixture.stub.putObject(S3Fixture.BUCKET, SOURCE_KEY, Files.readAllBytes(source.toPath()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+        source.delete();
+    }
+
+    @Benchmark
+    public void uploadFile() {
+        fixture.s3Service.uploadFile(S3Fixture.BUCKET, "bench/" + Thread.currentThread().threadId() + ".bin", source);
+    }
+
+    @Benchmark
+    public long downloadFile(Destination destination) throws IOException {
+        fixture.s3Service.downloadFile(S3Fixture.BUCKET, SOURCE_KEY, destination.file);
+        return destination.file.length();
+    }
+
+    @Benchmark
+    public long downloadFileAsStream() throws IOException {
+        try (InputStream in = fixture.s3Service.downloadFileAsStream(S3Fixture.BUCKET, SOURCE_KEY)) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    /**
+     * A download target per benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Destination {
+        File file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("s3-bench-download-", ".bin").toFile();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ghoneimcaptures.gc.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import ghoneimcaptures.gc.Service.GalleryViewService;
+
+// Caching runs before the transaction advice, so a cache hit never opens a transaction
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /**
+     * Caffeine caches for the public gallery view models. Evictions made inside a transaction
+     * are applied only after it commits, so a concurrent reader can't re-cache the old data.
+     * The infinite-scroll pages are keyed by a client-supplied cursor, so they get caches of
+     * their own: a client walking made-up cursors only pushes out other scroll pages.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${media.gallery.cache-spec:maximumSize=2000,expireAfterWrite=6h}") String cacheSpec,
+                                     @Value("${media.gallery.page-cache-spec:maximumSize=500,expireAfterWrite=6h}") String pageCacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(
+                GalleryViewService.PROJECTS_CACHE, GalleryViewService.CATEGORY_SHOOTS_CACHE,
+                GalleryViewService.SHOOT_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        caffeineCacheManager.registerCustomCache(GalleryViewService.CATEGORY_SHOOT_CARDS_CACHE, Caffeine.from(pageCacheSpec).build());
+        caffeineCacheManager.registerCustomCache(GalleryViewService.SHOOT_IMAGES_CACHE, Caffeine.from(pageCacheSpec).build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
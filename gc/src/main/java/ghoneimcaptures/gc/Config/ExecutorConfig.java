@@ -0,0 +1,89 @@
+package ghoneimcaptures.gc.Config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Named, bounded pools for media work. Each has a fixed thread count and queue, is exposed
+ * as {@code executor.*} metrics tagged with its name, and pushes back on callers once full
+ * instead of growing without limit. Tasks run with the MDC of the thread that submitted them.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Also picked up by Spring Boot's own task executor and scheduler
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    /**
+     * Per-file upload orchestration for the admin forms. When the queue is full the request
+     * thread runs the upload itself, which slows that request down rather than dropping files.
+     */
+    @Bean
+    public ExecutorService ingestExecutor(MeterRegistry meterRegistry, TaskDecorator taskDecorator,
+                                          @Value("${executors.ingest.pool-size:16}") int poolSize,
+                                          @Value("${executors.ingest.queue-capacity:200}") int queueCapacity) {
+        return monitored(meterRegistry, "ingest",
+                boundedExecutor("ingest", taskDecorator, poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    /**
+     * Blocking S3 transfers started through S3Service's async methods; kept apart from
+     * ingest so an ingest task waiting on its transfer can never hold the thread it needs
+     */
+    @Bean
+    public ExecutorService s3IoExecutor(MeterRegistry meterRegistry, TaskDecorator taskDecorator,
+                                        @Value("${executors.s3-io.pool-size:32}") int poolSize,
+                                        @Value("${executors.s3-io.queue-capacity:500}") int queueCapacity) {
+        return monitored(meterRegistry, "s3-io",
+                boundedExecutor("s3-io", taskDecorator, poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    /**
+     * Media job execution (image renditions, S3 cleanup). The job worker only claims as many
+     * jobs as there are threads, so anything beyond that is a bug and is rejected.
+     */
+    @Bean
+    public ExecutorService mediaJobExecutor(MeterRegistry meterRegistry, TaskDecorator taskDecorator,
+                                            @Value("${media.jobs.threads:2}") int poolSize) {
+        return monitored(meterRegistry, "media-jobs",
+                boundedExecutor("media-jobs", taskDecorator, poolSize, poolSize, new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    private ThreadPoolExecutor boundedExecutor(String name, TaskDecorator taskDecorator, int poolSize, int queueCapacity,
+                                               RejectedExecutionHandler rejectionPolicy) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory, rejectionPolicy) {
+            // submit() and CompletableFuture both come through here
+            @Override
+            public void execute(Runnable command) {
+                super.execute(taskDecorator.decorate(command));
+            }
+        };
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private ExecutorService monitored(MeterRegistry meterRegistry, String name, ExecutorService executor) {
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, name, Tags.empty());
+    }
+}
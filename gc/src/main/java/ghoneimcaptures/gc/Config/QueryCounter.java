@@ -0,0 +1,25 @@
+package ghoneimcaptures.gc.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. The count only ever goes up;
+ * callers take {@link #current()} before and after a unit of work and use the difference.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on the current thread so far
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -1,15 +1,28 @@
 package ghoneimcaptures.gc.Config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.S3CrtAsyncClientBuilder;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+
+import java.net.URI;
 
 @Configuration
 public class S3ClientConfig {
+    // S3's limits on the size of one part of a multipart upload
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+
     @Value("${aws.s3.bucket.name}")
     private String bucketName;
 
@@ -22,13 +35,74 @@ public class S3ClientConfig {
     @Value("${aws.secret.access.key}")
     private String secretAccessKey;
 
+    // Aggregate throughput the CRT client sizes its connection pool for
+    @Value("${aws.s3.transfer.target-throughput-gbps:5.0}")
+    private double targetThroughputGbps;
+
+    // Part size the CRT client splits uploads and downloads into
+    @Value("${aws.s3.transfer.part-size-mb:8}")
+    private long partSizeMb;
+
+    // S3-compatible endpoint (path-style), e.g. the local stub the load tests start; blank means AWS
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
     @Bean
     public S3Client amazonS3Client() {
         AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
         
-        return S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Shared presigner; building one per URL re-resolves region and credentials every time
+     */
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
+
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Non-blocking S3 client on the AWS Common Runtime; transfers don't hold a thread each.
+     * Only created with aws.s3.transfer.async-enabled=true; request paths all use the synchronous
+     * client, so by default the native CRT event loops never start.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "aws.s3.transfer.async-enabled", havingValue = "true")
+    public S3AsyncClient amazonS3AsyncClient() {
+        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
+
+        S3CrtAsyncClientBuilder builder = S3AsyncClient.crtBuilder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
+                .targetThroughputInGbps(targetThroughputGbps)
+                .minimumPartSizeInBytes(Math.clamp(partSizeMb * 1024 * 1024, MIN_PART_SIZE, MAX_PART_SIZE));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "aws.s3.transfer.async-enabled", havingValue = "true")
+    public S3TransferManager s3TransferManager(S3AsyncClient amazonS3AsyncClient) {
+        return S3TransferManager.builder()
+                .s3Client(amazonS3AsyncClient)
                 .build();
     }
 }
@@ -0,0 +1,95 @@
+package ghoneimcaptures.gc.Config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // css/main-<md5>.css, as VersionResourceResolver's content strategy names them
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    // Long enough for a full video download on a slow connection
+    @Value("${media.streaming.timeout-minutes:60}")
+    private long streamingTimeoutMinutes;
+
+    @Autowired
+    private TaskDecorator taskDecorator;
+
+    /**
+     * StreamingResponseBody downloads run as async requests. Give each its own virtual thread
+     * (the default pool would queue downloads behind a handful of threads) and a timeout that
+     * doesn't cut off large files mid-transfer. The request id follows the download onto its thread.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("media-stream-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(taskDecorator);
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(streamingTimeoutMinutes * 60 * 1000);
+    }
+
+    /**
+     * Stylesheets and scripts resolve through a chain that serves the build's .gz (or .br)
+     * variant when the browser accepts it and answers content-hashed URLs; templates that link
+     * them with {@code @{/css/...}} get the hashed URL written in by the encoding filter below.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String folder : new String[] { "css", "js" }) {
+            registry.addResourceHandler("/" + folder + "/**")
+                    .addResourceLocations("classpath:/static/" + folder + "/")
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    /**
+     * A hashed URL never changes content, so it is cached for a year without revalidation. Plain
+     * URLs (older pages that don't link through Thymeleaf) are revalidated on every use instead.
+     * The direct-upload and resumable-upload APIs additionally require an admin session.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean fingerprinted = FINGERPRINTED.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, fingerprinted ? IMMUTABLE : REVALIDATE);
+                return true;
+            }
+        }).addPathPatterns("/css/**", "/js/**");
+
+        registry.addInterceptor(new AdminSessionInterceptor())
+                .addPathPatterns("/api/s3/presign/**", "/api/s3/uploads/**",
+                        "/admin/shoots/create", "/admin/shoots/*/media/confirm");
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -1,8 +1,11 @@
 package ghoneimcaptures.gc.Controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -14,46 +17,82 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import ghoneimcaptures.gc.Dto.AdminPage;
+import ghoneimcaptures.gc.Dto.CategoryListItem;
 import ghoneimcaptures.gc.Model.Category;
 import ghoneimcaptures.gc.Model.Image;
 import ghoneimcaptures.gc.Repositories.CategoryRepository;
+import ghoneimcaptures.gc.Service.AdminListingService;
+import ghoneimcaptures.gc.Service.GalleryViewService;
+import ghoneimcaptures.gc.Service.ImageRenditionService;
+import ghoneimcaptures.gc.Service.MediaDeletionService;
+import ghoneimcaptures.gc.Service.MediaIngestService;
+import ghoneimcaptures.gc.Service.MediaIngestService.IngestResult;
+import ghoneimcaptures.gc.Service.MediaObjectService;
 import ghoneimcaptures.gc.Service.S3Service;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
-import java.io.File;
-import java.io.IOException;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/GC")
 public class CategoryController {
     
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+    private static final Duration IMAGE_UPLOAD_TIMEOUT = Duration.ofMinutes(5);
+    
     @Autowired
     private CategoryRepository categoryRepository;
     
     @Autowired
     private S3Service s3Service;
     
+    @Autowired
+    private ImageRenditionService imageRenditionService;
+    
+    @Autowired
+    private MediaDeletionService mediaDeletionService;
+    
+    @Autowired
+    private MediaIngestService mediaIngestService;
+    
+    @Autowired
+    private MediaObjectService mediaObjectService;
+    
+    @Autowired
+    private GalleryViewService galleryViewService;
+    
+    @Autowired
+    private AdminListingService adminListingService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
     @Value("${aws.s3.bucket.name}")
     private String bucketName;
     
-    @Value("${aws.region}")
-    private String region;
-    
     @Value("${aws.cloudfront.domain}")
     private String cloudFrontDomain;
 
     @GetMapping("/managecategories")
-    public ModelAndView manageCategories(HttpSession session) {
+    public ModelAndView manageCategories(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "dir", required = false) String direction,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            HttpSession session) {
         ModelAndView mav = new ModelAndView("managecategories.html");
         try {
-            java.util.List<Category> categories = categoryRepository.findAll();
-            mav.addObject("categories", categories);
-            System.out.println("Found " + categories.size() + " categories");
+            AdminPage<CategoryListItem> page = adminListingService.listCategories(query, sort, direction, cursor, size);
+            mav.addObject("page", page);
+            mav.addObject("categories", page.items());
+            log.debug("Found {} categories", page.items().size());
         } catch (Exception e) {
-            System.err.println("Error fetching categories: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching categories", e);
             mav.addObject("categories", new java.util.ArrayList<>());
         }
         return mav;
@@ -67,12 +106,15 @@ public class CategoryController {
         return mav;
     }
 
+    // The image is uploaded before the transaction that saves the category opens, so the request
+    // doesn't hold a pooled connection while the ingest workers need their own
     @PostMapping("/addcategory")
-    @Transactional
     public ModelAndView addCategoryProcess(
             @Valid @ModelAttribute("category") Category category, 
             BindingResult result,
             @RequestParam(value = "categoryImage", required = false) MultipartFile categoryImage,
+            @RequestParam(value = "uploadedImageKey", required = false) String uploadedImageKey,
+            @RequestParam(value = "uploadedImageName", required = false) String uploadedImageName,
             RedirectAttributes redirectAttributes) {
         ModelAndView manageModel = new ModelAndView("redirect:/GC/managecategories");
         ModelAndView addModel = new ModelAndView("addcategory.html");
@@ -82,81 +124,65 @@ public class CategoryController {
             result.rejectValue("name", "error.category", "Category name already exists. Please choose a different name.");
         }
 
-        // Debug logging
-        System.out.println("Category details before saving:");
-        System.out.println("Name: " + category.getName());
-
         if (result.hasErrors()) {
-            System.out.println("Validation errors found:");
-            result.getAllErrors().forEach(error -> {
-                System.out.println("Error: " + error.getDefaultMessage());
-            });
+            log.debug("Validation errors adding category: {}", result.getAllErrors());
             addModel.addObject("category", category);
             addModel.addObject("errors", result.getAllErrors());
             return addModel;
         } else {
+            List<IngestResult> uploadResults = List.of();
             try {
                 // Handle image upload if provided
                 if (categoryImage != null && !categoryImage.isEmpty()) {
-                    try {
-                        // Upload image to S3
-                        String fileName = "category-" + UUID.randomUUID().toString() + "-" + categoryImage.getOriginalFilename();
-                        String folderName = "categories";
-                        
-                        // Create temporary file
-                        File tempFile = File.createTempFile("category-", categoryImage.getOriginalFilename());
-                        categoryImage.transferTo(tempFile);
-                        
-                        // Upload to S3
-                        String s3Key = folderName + "/" + fileName;
-                        System.out.println("Uploading to S3 - Bucket: " + bucketName + ", Key: " + s3Key + ", Region: " + region);
-                        s3Service.uploadFile(bucketName, s3Key, tempFile);
-                        
-                        // Generate CloudFront URL
-                        String s3Url = "https://" + cloudFrontDomain + "/" + s3Key;
-                        
-                        // Create Image entity
-                        Image image = new Image(categoryImage.getOriginalFilename(), s3Url);
-                        image.setCategory(category); // Set the back-reference
-                        
-                        // Set image to category
-                        category.setImage(image);
-                        
-                        // Clean up temporary file
-                        tempFile.delete();
-                        
-                        System.out.println("Category image uploaded to S3: " + s3Url);
-                        System.out.println("Image entity created - Name: " + image.getName() + ", URL: " + image.getUrl());
-                        
-                    } catch (IOException e) {
-                        System.err.println("Error uploading category image: " + e.getMessage());
-                        e.printStackTrace();
+                    uploadResults = mediaIngestService.ingest(
+                            new MultipartFile[] { categoryImage }, "categories", IMAGE_UPLOAD_TIMEOUT);
+                    IngestResult upload = uploadResults.get(0);
+                    if (!upload.isSuccess()) {
+                        log.warn("Error uploading category image: {}", upload.error());
                         redirectAttributes.addFlashAttribute("error", "Failed to upload category image. Please try again.");
                         addModel.addObject("category", category);
                         return addModel;
                     }
+                    
+                    // Create Image entity
+                    Image image = new Image(upload.name(), upload.url());
+                    image.setCategory(category); // Set the back-reference
+                    
+                    // Set image to category
+                    category.setImage(image);
+                    
+                    log.debug("Category image uploaded to {}", upload.key());
                 }
                 
-                // Save the category
-                Category savedCategory = categoryRepository.save(category);
-                System.out.println("Category saved successfully with ID: " + savedCategory.getId());
-                System.out.println("Saved category name: " + savedCategory.getName());
-                System.out.println("Saved category image: " + (savedCategory.getImage() != null ? savedCategory.getImage().getUrl() : "null"));
-                
-                // Verify the category was actually saved
-                Category retrievedCategory = categoryRepository.findById(savedCategory.getId()).orElse(null);
-                if (retrievedCategory != null) {
-                    System.out.println("Category verification successful - category exists in database");
-                } else {
-                    System.out.println("WARNING: Category was not found in database after saving");
+                // Image the browser already uploaded straight to S3
+                Long uploadedImageSize = categoryImage == null || categoryImage.isEmpty()
+                        ? uploadedCategoryObjectSize(uploadedImageKey) : null;
+                if (uploadedImageSize != null) {
+                    Image image = new Image(uploadedImageName, "https://" + cloudFrontDomain + "/" + uploadedImageKey);
+                    image.setCategory(category);
+                    category.setImage(image);
                 }
                 
+                // Save the category
+                Category savedCategory = transactionTemplate.execute(status -> {
+                    if (uploadedImageSize != null) {
+                        mediaObjectService.retainUploaded(Map.of(uploadedImageKey, uploadedImageSize));
+                    }
+                    Category saved = categoryRepository.save(category);
+                    if (saved.getImage() != null) {
+                        imageRenditionService.scheduleRenditions(java.util.List.of(saved.getImage()));
+                    }
+                    return saved;
+                });
+                log.info("Added category {}", savedCategory.getId());
+                
+                galleryViewService.evictAll();
                 redirectAttributes.addFlashAttribute("success", "Category created successfully!");
                 return manageModel;
                 
             } catch (Exception e) {
-                System.err.println("Error saving category: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error saving category", e);
+                mediaIngestService.discard(uploadResults);
                 result.rejectValue("name", "error.category", "Failed to save category. Please try again.");
                 addModel.addObject("category", category);
                 addModel.addObject("errors", result.getAllErrors());
@@ -169,40 +195,36 @@ public class CategoryController {
     public ModelAndView editCategory(@PathVariable Long id, HttpSession session) {
         ModelAndView mav = new ModelAndView("editcategory.html");
         try {
-            Category category = categoryRepository.findById(id).orElse(null);
+            Category category = categoryRepository.findWithImageAndShootsById(id).orElse(null);
             if (category != null) {
                 mav.addObject("category", category);
-                System.out.println("Editing category: " + category.getName());
+                log.debug("Editing category {}", id);
             } else {
-                System.err.println("Category not found with ID: " + id);
+                log.warn("Category not found with ID {}", id);
                 mav.setViewName("redirect:/GC/managecategories");
             }
         } catch (Exception e) {
-            System.err.println("Error fetching category for edit: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching category {} for edit", id, e);
             mav.setViewName("redirect:/GC/managecategories");
         }
         return mav;
     }
 
+    // Uploads first, then a short transaction for the save, as in addCategoryProcess
     @PostMapping("/updatecategory")
-    @Transactional
     public ModelAndView updateCategory(
             @Valid @ModelAttribute("category") Category category, 
             BindingResult result,
             @RequestParam(value = "categoryImage", required = false) MultipartFile categoryImage,
+            @RequestParam(value = "uploadedImageKey", required = false) String uploadedImageKey,
+            @RequestParam(value = "uploadedImageName", required = false) String uploadedImageName,
             RedirectAttributes redirectAttributes) {
         ModelAndView mav = new ModelAndView("redirect:/GC/managecategories");
         
+        List<IngestResult> uploadResults = List.of();
         try {
-            System.out.println("Updating category with ID: " + category.getId());
-            System.out.println("Category details: " + category.getName());
-            
             if (result.hasErrors()) {
-                System.out.println("Validation errors found:");
-                result.getAllErrors().forEach(error -> {
-                    System.out.println("Error: " + error.getDefaultMessage());
-                });
+                log.debug("Validation errors updating category {}: {}", category.getId(), result.getAllErrors());
                 mav.setViewName("editcategory.html");
                 mav.addObject("category", category);
                 return mav;
@@ -219,52 +241,54 @@ public class CategoryController {
             
             // Handle image upload if provided
             if (categoryImage != null && !categoryImage.isEmpty()) {
-                try {
-                    // Upload new image to S3
-                    String fileName = "category-" + UUID.randomUUID().toString() + "-" + categoryImage.getOriginalFilename();
-                    String folderName = "categories";
-                    
-                    // Create temporary file
-                    File tempFile = File.createTempFile("category-", categoryImage.getOriginalFilename());
-                    categoryImage.transferTo(tempFile);
-                    
-                    // Upload to S3
-                    String s3Key = folderName + "/" + fileName;
-                    s3Service.uploadFile(bucketName, s3Key, tempFile);
-                    
-                    // Generate CloudFront URL
-                    String s3Url = "https://" + cloudFrontDomain + "/" + s3Key;
-                    
-                    // Create new Image entity
-                    Image image = new Image(categoryImage.getOriginalFilename(), s3Url);
-                    image.setCategory(category); // Set the back-reference
-                    
-                    // Set image to category
-                    category.setImage(image);
-                    
-                    // Clean up temporary file
-                    tempFile.delete();
-                    
-                    System.out.println("Category image updated in S3: " + s3Url);
-                    
-                } catch (IOException e) {
-                    System.err.println("Error uploading category image: " + e.getMessage());
-                    e.printStackTrace();
+                uploadResults = mediaIngestService.ingest(
+                        new MultipartFile[] { categoryImage }, "categories", IMAGE_UPLOAD_TIMEOUT);
+                IngestResult upload = uploadResults.get(0);
+                if (!upload.isSuccess()) {
+                    log.warn("Error uploading image for category {}: {}", category.getId(), upload.error());
                     redirectAttributes.addFlashAttribute("error", "Failed to upload category image. Please try again.");
                     mav.setViewName("editcategory.html");
                     mav.addObject("category", category);
                     return mav;
                 }
+                
+                // Create new Image entity
+                Image image = new Image(upload.name(), upload.url());
+                image.setCategory(category); // Set the back-reference
+                
+                // Set image to category
+                category.setImage(image);
+                
+                log.debug("Category image uploaded to {}", upload.key());
+            }
+            
+            // Image the browser already uploaded straight to S3
+            Long uploadedImageSize = categoryImage == null || categoryImage.isEmpty()
+                    ? uploadedCategoryObjectSize(uploadedImageKey) : null;
+            if (uploadedImageSize != null) {
+                Image image = new Image(uploadedImageName, "https://" + cloudFrontDomain + "/" + uploadedImageKey);
+                image.setCategory(category);
+                category.setImage(image);
             }
             
             // Save the updated category
-            categoryRepository.save(category);
-            System.out.println("Category updated successfully: " + category.getName());
+            boolean newImage = category.getImage() != null && category.getImage().getId() == null;
+            transactionTemplate.executeWithoutResult(status -> {
+                if (uploadedImageSize != null) {
+                    mediaObjectService.retainUploaded(Map.of(uploadedImageKey, uploadedImageSize));
+                }
+                Category savedCategory = categoryRepository.save(category);
+                if (newImage) {
+                    imageRenditionService.scheduleRenditions(java.util.List.of(savedCategory.getImage()));
+                }
+            });
+            log.info("Updated category {}", category.getId());
+            galleryViewService.evictAll();
             redirectAttributes.addFlashAttribute("success", "Category updated successfully!");
             
         } catch (Exception e) {
-            System.err.println("Error updating category: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating category {}", category.getId(), e);
+            mediaIngestService.discard(uploadResults);
             redirectAttributes.addFlashAttribute("error", "Failed to update category. Please try again.");
         }
         
@@ -277,12 +301,11 @@ public class CategoryController {
         ModelAndView mav = new ModelAndView("redirect:/GC/managecategories");
         
         try {
-            System.out.println("Deleting category with ID: " + id);
-            Category category = categoryRepository.findById(id).orElse(null);
+            Category category = categoryRepository.findWithImageAndShootsById(id).orElse(null);
             if (category != null) {
                 // Check if category has associated shoots
                 if (category.getShoots() != null && !category.getShoots().isEmpty()) {
-                    System.out.println("Warning: Category has " + category.getShoots().size() + " associated shoots");
+                    log.debug("Not deleting category {}: it still has {} shoots", id, category.getShoots().size());
                     redirectAttributes.addFlashAttribute("warning", "Category has associated shoots. Please delete shoots first.");
                     return mav;
                 }
@@ -292,28 +315,40 @@ public class CategoryController {
                     try {
                         // Extract file path from S3 URL for deletion
                         String imageUrl = category.getImage().getUrl();
-                        String s3Key = imageUrl.substring(imageUrl.indexOf(bucketName) + bucketName.length() + 1);
-                        s3Service.deleteFile(bucketName, s3Key);
-                        System.out.println("Category image deleted from S3: " + s3Key);
+                        String urlPrefix = imageUrl.contains(cloudFrontDomain) ? cloudFrontDomain : bucketName;
+                        String s3Key = imageUrl.substring(imageUrl.indexOf(urlPrefix) + urlPrefix.length() + 1);
+                        java.util.List<String> keysToDelete = new java.util.ArrayList<>(imageRenditionService.renditionKeys(category.getImage()));
+                        keysToDelete.add(s3Key);
+                        mediaDeletionService.release(keysToDelete);
+                        log.debug("Category image released for deletion from S3: {}", s3Key);
                     } catch (Exception e) {
-                        System.err.println("Error deleting category image from S3: " + e.getMessage());
+                        log.warn("Error releasing image of category {}", id, e);
                         // Continue with category deletion even if image deletion fails
                     }
                 }
                 
                 categoryRepository.deleteById(id);
-                System.out.println("Category deleted successfully: " + category.getName());
+                log.info("Deleted category {}", id);
+                galleryViewService.evictAll();
                 redirectAttributes.addFlashAttribute("success", "Category deleted successfully!");
             } else {
-                System.err.println("Category not found for deletion");
+                log.warn("Category not found for deletion: {}", id);
                 redirectAttributes.addFlashAttribute("error", "Category not found.");
             }
         } catch (Exception e) {
-            System.err.println("Error deleting category: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting category {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Failed to delete category. Please try again.");
         }
         
         return mav;
     }
+
+    // Only accept keys under categories/ that actually landed in the bucket; returns the
+    // object's size, or null if the key doesn't qualify
+    private Long uploadedCategoryObjectSize(String key) {
+        if (key == null || !key.startsWith("categories/") || key.contains("..")) {
+            return null;
+        }
+        return s3Service.objectSizes(bucketName, List.of(key)).get(key);
+    }
 }
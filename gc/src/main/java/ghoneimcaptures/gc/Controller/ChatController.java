@@ -6,6 +6,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -15,6 +17,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class ChatController {
 
+    private static final Logger log = LoggerFactory.getLogger(ChatController.class);
+
     @Value("${openai.api.key:}")
     private String openaiApiKey;
 
@@ -72,7 +76,7 @@ public class ChatController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error calling OpenAI API: " + e.getMessage());
+            log.warn("Error calling OpenAI API, using fallback response: {}", e.getMessage());
             response.put("response", getFallbackResponse(request.get("message"), request.getOrDefault("context", "general")));
             return ResponseEntity.ok(response);
         }
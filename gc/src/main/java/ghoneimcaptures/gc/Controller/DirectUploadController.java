@@ -0,0 +1,170 @@
+package ghoneimcaptures.gc.Controller;
+
+import ghoneimcaptures.gc.Service.S3Service;
+import ghoneimcaptures.gc.Service.UploadKeyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Pre-signed URLs for the admin forms' direct-to-S3 uploads. Only a logged-in admin session
+ * gets here (see WebConfig), and the browser never picks the object key: it names what the
+ * file is for and UploadKeyService builds the key.
+ */
+@RestController
+@RequestMapping("/api/s3/presign")
+public class DirectUploadController {
+
+    private static final Duration UPLOAD_URL_EXPIRATION = Duration.ofMinutes(15);
+    private static final Duration PART_URL_EXPIRATION = Duration.ofHours(1);
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private UploadKeyService uploadKeyService;
+
+    @Value("${aws.s3.bucket.name}")
+    private String bucketName;
+
+    /**
+     * Issue a pre-signed PUT URL so the browser can upload a file straight to the bucket
+     */
+    @PostMapping("/upload")
+    public ResponseEntity<Map<String, Object>> presignUpload(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("target") String target,
+            @RequestParam(value = "shootId", required = false) Long shootId,
+            @RequestParam(value = "contentType", required = false, defaultValue = "application/octet-stream") String contentType) {
+
+        try {
+            String s3Key = uploadKeyService.newKey(target, shootId, fileName);
+            String uploadUrl = s3Service.generateUploadUrl(bucketName, s3Key, contentType, UPLOAD_URL_EXPIRATION);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("fileKey", s3Key);
+            response.put("uploadUrl", uploadUrl);
+            response.put("contentType", contentType);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to generate upload URL");
+        }
+    }
+
+    /**
+     * Start a multipart upload and issue a pre-signed URL for each part, for browser uploads of large files.
+     * The bucket's CORS rules must expose the ETag header so the browser can report part ETags back.
+     */
+    @PostMapping("/multipart")
+    public ResponseEntity<Map<String, Object>> presignMultipartUpload(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("size") long size,
+            @RequestParam("target") String target,
+            @RequestParam(value = "shootId", required = false) Long shootId,
+            @RequestParam(value = "contentType", required = false, defaultValue = "application/octet-stream") String contentType) {
+
+        try {
+            long partSize = s3Service.getPartSize();
+            int partCount = (int) Math.max(1, (size + partSize - 1) / partSize);
+            if (partCount > 10000) {
+                throw new IllegalArgumentException("File too large for multipart upload: " + size + " bytes");
+            }
+
+            String s3Key = uploadKeyService.newKey(target, shootId, fileName);
+            String uploadId = s3Service.createMultipartUpload(bucketName, s3Key, contentType);
+            List<String> partUrls = new ArrayList<>(partCount);
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                partUrls.add(s3Service.generateUploadPartUrl(bucketName, s3Key, uploadId, partNumber, PART_URL_EXPIRATION));
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("fileKey", s3Key);
+            response.put("uploadId", uploadId);
+            response.put("partSize", partSize);
+            response.put("partUrls", partUrls);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to start multipart upload");
+        }
+    }
+
+    /**
+     * Complete a browser multipart upload from the part ETags it collected
+     */
+    @PostMapping("/multipart/complete")
+    public ResponseEntity<Map<String, Object>> completePresignedMultipartUpload(@RequestBody PresignedMultipartCompletion completion) {
+        try {
+            requireDirectUploadKey(completion.fileKey());
+            List<CompletedPart> completedParts = completion.parts().stream()
+                    .sorted(Comparator.comparingInt(PresignedPart::partNumber))
+                    .map(part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build())
+                    .toList();
+            s3Service.completeMultipartUpload(bucketName, completion.fileKey(), completion.uploadId(), completedParts);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("fileKey", completion.fileKey());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to complete multipart upload");
+        }
+    }
+
+    /**
+     * Abort a browser multipart upload
+     */
+    @DeleteMapping("/multipart")
+    public ResponseEntity<Map<String, Object>> abortPresignedMultipartUpload(
+            @RequestParam("fileKey") String fileKey,
+            @RequestParam("uploadId") String uploadId) {
+
+        try {
+            requireDirectUploadKey(fileKey);
+            s3Service.abortMultipartUpload(bucketName, fileKey, uploadId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Upload aborted");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to abort multipart upload");
+        }
+    }
+
+    public record PresignedPart(int partNumber, String eTag) {
+    }
+
+    public record PresignedMultipartCompletion(String fileKey, String uploadId, List<PresignedPart> parts) {
+    }
+
+    private void requireDirectUploadKey(String key) {
+        if (!uploadKeyService.isUploadKey(key)) {
+            throw new IllegalArgumentException("Not a direct upload key: " + key);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> errorResponse(Exception e, String message) {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        if (e instanceof NoSuchElementException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", message + ": " + e.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,75 @@
+package ghoneimcaptures.gc.Controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ghoneimcaptures.gc.Dto.GalleryPage;
+import ghoneimcaptures.gc.Service.GalleryViewService;
+
+/**
+ * Infinite-scroll pages for the public gallery. The first page of each list is rendered into
+ * the HTML; the page scripts fetch the rest from here with the cursor the previous page gave.
+ */
+@RestController
+@RequestMapping("/api/gallery")
+public class GalleryApiController {
+
+    @Autowired
+    private GalleryViewService galleryViewService;
+
+    @GetMapping("/shoots/{shootId}/images")
+    public ResponseEntity<Map<String, Object>> shootImages(@PathVariable Long shootId,
+                                                           @RequestParam(value = "cursor", required = false) String cursor) {
+        Long afterId = parseCursor(cursor);
+        if (afterId == null) {
+            return invalidCursor();
+        }
+        return page(galleryViewService.getShootImages(shootId, afterId));
+    }
+
+    @GetMapping("/categories/{categoryId}/shoots")
+    public ResponseEntity<Map<String, Object>> categoryShoots(@PathVariable Long categoryId,
+                                                              @RequestParam(value = "cursor", required = false) String cursor) {
+        Long afterId = parseCursor(cursor);
+        if (afterId == null) {
+            return invalidCursor();
+        }
+        return page(galleryViewService.getCategoryShootCards(categoryId, afterId));
+    }
+
+    private ResponseEntity<Map<String, Object>> page(GalleryPage<?> page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("items", page.items());
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> invalidCursor() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", "Invalid cursor");
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    // The cursor is the id of the last row already shown; none means the first page
+    private static Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            long afterId = Long.parseLong(cursor.trim());
+            return afterId >= 0 ? afterId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
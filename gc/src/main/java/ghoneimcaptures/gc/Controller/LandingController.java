@@ -1,33 +1,53 @@
 package ghoneimcaptures.gc.Controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
-import ghoneimcaptures.gc.Model.Category;
-import ghoneimcaptures.gc.Model.Shoot;
-import ghoneimcaptures.gc.Repositories.CategoryRepository;
-import ghoneimcaptures.gc.Repositories.ShootRepository;
-import ghoneimcaptures.gc.Service.S3Service;
+import ghoneimcaptures.gc.Dto.CategoryCard;
+import ghoneimcaptures.gc.Dto.CategoryShootsView;
+import ghoneimcaptures.gc.Dto.ShootView;
+import ghoneimcaptures.gc.Service.GalleryViewService;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 @RestController
 @RequestMapping("/landing")
 public class LandingController {
 
-    @Autowired
-    private CategoryRepository categoryRepository;
+    private static final Logger log = LoggerFactory.getLogger(LandingController.class);
+
+    // Gallery pages may be stored anywhere but are revalidated on every visit
+    private static final String PAGE_CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
 
     @Autowired
-    private ShootRepository shootRepository;
-    
+    private GalleryViewService galleryViewService;
+
+    // Templates and asset URLs change with a build, not with the data; mixed into every page ETag
+    private String deployment;
+
     @Autowired
-    private S3Service s3Service;
+    void setBuildProperties(ObjectProvider<BuildProperties> buildProperties) {
+        BuildProperties build = buildProperties.getIfAvailable();
+        // Without build-info (run from an IDE) fall back to this JVM's start
+        this.deployment = build != null
+                ? build.getVersion() + "@" + build.getTime()
+                : Long.toHexString(System.currentTimeMillis());
+    }
     @GetMapping("/")
     public ModelAndView index() {
         ModelAndView modelAndView = new ModelAndView();
@@ -35,39 +55,19 @@ public class LandingController {
         return modelAndView;
     }
     @GetMapping("/projects")
-    @Transactional(readOnly = true)
-    public ModelAndView projects() {
+    public ModelAndView projects(ServletWebRequest webRequest) {
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("Projects");
         
         try {
-            List<Category> categories = categoryRepository.findAllWithImagesAndShoots();
-            
-            // Convert pre-signed URLs to public URLs if needed
-            for (Category category : categories) {
-                if (category.getImage() != null && category.getImage().getUrl() != null) {
-                    String currentUrl = category.getImage().getUrl();
-                    
-                    // If URL is a pre-signed URL (contains query parameters), convert to public URL
-                    if (currentUrl.contains("?")) {
-                        String publicUrl = currentUrl.substring(0, currentUrl.indexOf("?"));
-                        category.getImage().setUrl(publicUrl);
-                        System.out.println("Converted to public URL for category: " + category.getName());
-                    }
-                }
+            // Served from the gallery cache; only the first hit after an admin change queries the database
+            List<CategoryCard> categories = galleryViewService.getProjects();
+            if (notModified(webRequest, categories)) {
+                return null;
             }
-            
             modelAndView.addObject("categories", categories);
-            System.out.println("Found " + categories.size() + " categories for projects page");
-            
-            // Debug: Print category and image information
-            for (Category category : categories) {
-                System.out.println("Category: " + category.getName() + 
-                    ", Image: " + (category.getImage() != null ? category.getImage().getUrl() : "null"));
-            }
         } catch (Exception e) {
-            System.err.println("Error fetching categories: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching categories", e);
             modelAndView.addObject("categories", new java.util.ArrayList<>());
         }
         
@@ -75,50 +75,19 @@ public class LandingController {
     }
 
     @GetMapping("/projects/{categoryId}")
-    @Transactional(readOnly = true)
-    public ModelAndView categoryShoots(@PathVariable Long categoryId) {
+    public ModelAndView categoryShoots(@PathVariable Long categoryId, ServletWebRequest webRequest) {
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("CategoryShoots");
         
         try {
-            Category category = categoryRepository.findById(categoryId).orElse(null);
-            if (category != null) {
-                // Fetch shoots with eager loading of images
-                List<Shoot> shoots = shootRepository.findByCategoryIdWithImages(categoryId);
-                
-                // Convert pre-signed URLs to public URLs
-                if (category.getImage() != null && category.getImage().getUrl() != null) {
-                    String currentUrl = category.getImage().getUrl();
-                    if (currentUrl.contains("?")) {
-                        String publicUrl = currentUrl.substring(0, currentUrl.indexOf("?"));
-                        category.getImage().setUrl(publicUrl);
-                    }
-                }
-                
-                // Convert pre-signed URLs for all images in shoots
-                for (Shoot shoot : shoots) {
-                    if (shoot.getImages() != null) {
-                        for (ghoneimcaptures.gc.Model.Image image : shoot.getImages()) {
-                            if (image.getUrl() != null && image.getUrl().contains("?")) {
-                                String publicUrl = image.getUrl().substring(0, image.getUrl().indexOf("?"));
-                                image.setUrl(publicUrl);
-                            }
-                        }
-                    }
-                }
-                
-                modelAndView.addObject("category", category);
-                modelAndView.addObject("shoots", shoots);
-                System.out.println("Found " + shoots.size() + " shoots for category: " + category.getName());
-                System.out.println("Category name: " + category.getName());
-                System.out.println("Category object: " + category);
-            } else {
-                modelAndView.addObject("category", null);
-                modelAndView.addObject("shoots", new java.util.ArrayList<>());
+            CategoryShootsView category = galleryViewService.getCategoryShoots(categoryId);
+            if (notModified(webRequest, category)) {
+                return null;
             }
+            modelAndView.addObject("category", category);
+            modelAndView.addObject("shoots", category != null ? category.shoots() : new java.util.ArrayList<>());
         } catch (Exception e) {
-            System.err.println("Error fetching shoots for category: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching shoots for category {}", categoryId, e);
             modelAndView.addObject("category", null);
             modelAndView.addObject("shoots", new java.util.ArrayList<>());
         }
@@ -139,44 +108,49 @@ public class LandingController {
     }
 
     @GetMapping("/shoot/{shootId}")
-    @Transactional(readOnly = true)
-    public ModelAndView viewShoot(@PathVariable Long shootId) {
+    public ModelAndView viewShoot(@PathVariable Long shootId, ServletWebRequest webRequest) {
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("ShootDetails");
         
         try {
-            Shoot shoot = shootRepository.findById(shootId).orElse(null);
+            ShootView shoot = galleryViewService.getShoot(shootId);
+            if (notModified(webRequest, shoot)) {
+                return null;
+            }
             if (shoot != null) {
-                // Convert pre-signed URLs to public URLs for images
-                if (shoot.getImages() != null) {
-                    for (ghoneimcaptures.gc.Model.Image image : shoot.getImages()) {
-                        if (image.getUrl() != null && image.getUrl().contains("?")) {
-                            String publicUrl = image.getUrl().substring(0, image.getUrl().indexOf("?"));
-                            image.setUrl(publicUrl);
-                        }
-                    }
-                }
-                
-                // Convert pre-signed URLs to public URLs for videos
-                if (shoot.getVideos() != null) {
-                    for (ghoneimcaptures.gc.Model.Video video : shoot.getVideos()) {
-                        if (video.getUrl() != null && video.getUrl().contains("?")) {
-                            String publicUrl = video.getUrl().substring(0, video.getUrl().indexOf("?"));
-                            video.setUrl(publicUrl);
-                        }
-                    }
-                }
-                
                 modelAndView.addObject("shoot", shoot);
             } else {
                 modelAndView.addObject("error", "Shoot not found");
             }
         } catch (Exception e) {
-            System.err.println("Error fetching shoot: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching shoot {}", shootId, e);
             modelAndView.addObject("error", "Error loading shoot");
         }
         
         return modelAndView;
     }
+
+    /**
+     * Answer a conditional GET for a gallery page with 304, before anything is rendered. The
+     * validator is a hash of the cached view model, so it changes whenever anything the page
+     * shows does (a shoot's fields, its images, a finished rendition), not only its own row.
+     */
+    private boolean notModified(ServletWebRequest webRequest, Object view) {
+        if (view == null) {
+            return false;
+        }
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, PAGE_CACHE_CONTROL);
+        return webRequest.checkNotModified(eTagOf(view));
+    }
+
+    // View models are records all the way down, so toString() covers every rendered value
+    private String eTagOf(Object view) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((deployment + view).getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
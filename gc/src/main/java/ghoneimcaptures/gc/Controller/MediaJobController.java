@@ -0,0 +1,40 @@
+package ghoneimcaptures.gc.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import ghoneimcaptures.gc.Service.MediaJobService;
+
+@Controller
+@RequestMapping("/admin/jobs")
+public class MediaJobController {
+
+    @Autowired
+    private MediaJobService mediaJobService;
+
+    // Queue overview: counts per status and the latest jobs
+    @GetMapping
+    public String listJobs(Model model) {
+        model.addAttribute("statusCounts", mediaJobService.getStatusCounts());
+        model.addAttribute("jobs", mediaJobService.getRecentJobs());
+        return "managejobs";
+    }
+
+    // Re-queue a failed job with a fresh set of attempts
+    @PostMapping("/retry/{id}")
+    public String retryJob(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            mediaJobService.retry(id);
+            redirectAttributes.addFlashAttribute("success", "Job " + id + " queued for retry.");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/admin/jobs";
+    }
+}
@@ -1,24 +1,31 @@
 package ghoneimcaptures.gc.Controller;
 
+import ghoneimcaptures.gc.Model.UploadSession;
+import ghoneimcaptures.gc.Service.ResumableUploadService;
 import ghoneimcaptures.gc.Service.S3Service;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @RestController
@@ -29,9 +36,17 @@ public class S3Controller {
     @Autowired
     private S3Service s3Service;
 
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
     @Value("${aws.s3.bucket.name}")
     private String bucketName;
 
+    // Uploaded keys are never rewritten (every upload gets a fresh UUID), so responses can be
+    // cached as immutable for this long
+    @Value("${media.cache.max-age:365d}")
+    private Duration mediaCacheMaxAge;
+
     /**
      * Upload file to S3
      */
@@ -50,15 +65,10 @@ public class S3Controller {
             String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
             String s3Key = folder + "/" + uniqueFileName;
 
-            // Convert MultipartFile to File
-            File tempFile = File.createTempFile("upload_", fileExtension);
-            file.transferTo(tempFile);
-
-            // Upload to S3
-            s3Service.uploadFile(bucketName, s3Key, tempFile);
-
-            // Clean up temp file
-            tempFile.delete();
+            // Stream straight to S3 (no temp file copy)
+            try (InputStream inputStream = file.getInputStream()) {
+                s3Service.uploadStream(bucketName, s3Key, inputStream, file.getSize());
+            }
 
             response.put("status", "success");
             response.put("message", "File uploaded successfully");
@@ -77,65 +87,114 @@ public class S3Controller {
     }
 
     /**
-     * Download file from S3
+     * Download file from S3, streamed straight to the client (supports Range and If-None-Match)
      */
     @GetMapping("/download/{folder}/{fileName}")
-    public ResponseEntity<byte[]> downloadFile(
+    public ResponseEntity<StreamingResponseBody> downloadFile(
             @PathVariable String folder,
-            @PathVariable String fileName) {
+            @PathVariable String fileName,
+            @RequestHeader HttpHeaders requestHeaders) {
         
-        try {
-            String s3Key = folder + "/" + fileName;
-            File tempFile = File.createTempFile("download_", fileName);
-            
-            // Download from S3
-            s3Service.downloadFile(bucketName, s3Key, tempFile);
-            
-            // Read file content
-            byte[] fileContent = Files.readAllBytes(tempFile.toPath());
-            
-            // Clean up temp file
-            tempFile.delete();
-
-            // Determine content type
-            String contentType = Files.probeContentType(tempFile.toPath());
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(contentType));
-            headers.setContentDispositionFormData("attachment", fileName);
-            headers.setContentLength(fileContent.length);
-
-            return new ResponseEntity<>(fileContent, headers, HttpStatus.OK);
-
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        return streamObject(folder + "/" + fileName, ContentDisposition.attachment().filename(fileName).build(), requestHeaders);
     }
 
     /**
-     * Get file as stream
+     * Get file as stream for inline playback; Range requests let video players seek
      */
     @GetMapping("/stream/{folder}/{fileName}")
-    public ResponseEntity<InputStream> streamFile(
+    public ResponseEntity<StreamingResponseBody> streamFile(
             @PathVariable String folder,
-            @PathVariable String fileName) {
+            @PathVariable String fileName,
+            @RequestHeader HttpHeaders requestHeaders) {
         
+        return streamObject(folder + "/" + fileName, ContentDisposition.inline().filename(fileName).build(), requestHeaders);
+    }
+
+    /**
+     * Stream an object (or a single byte range of it) from S3 to the servlet output without
+     * buffering it. Conditional requests are answered from the object's ETag.
+     */
+    private ResponseEntity<StreamingResponseBody> streamObject(String s3Key, ContentDisposition disposition, HttpHeaders requestHeaders) {
+        HeadObjectResponse head;
         try {
-            String s3Key = folder + "/" + fileName;
-            InputStream inputStream = s3Service.downloadFileAsStream(bucketName, s3Key);
+            head = s3Service.headObject(bucketName, s3Key);
+        } catch (S3Exception e) {
+            return ResponseEntity.status(e.statusCode() == 404 ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY).build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("inline", fileName);
+        String eTag = head.eTag();
+        long contentLength = head.contentLength();
 
-            return new ResponseEntity<>(inputStream, headers, HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        // S3 ETags are strong, and Tomcat never compresses a response with a strong ETag, so
+        // server.compression leaves these streams (and their Content-Length and ranges) alone
+        headers.setETag(eTag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.maxAge(mediaCacheMaxAge).cachePublic().immutable());
+        if (head.lastModified() != null) {
+            headers.setLastModified(head.lastModified());
+        }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        if (matchesETag(requestHeaders.getIfNoneMatch(), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
         }
+
+        headers.setContentType(head.contentType() != null
+                ? MediaType.parseMediaType(head.contentType()) : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(disposition);
+
+        // Honour a single byte range; multiple ranges (or a stale If-Range) get the full object
+        HttpRange range = null;
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+            if (ranges.size() == 1 && (ifRange == null || ifRange.equals(eTag))) {
+                range = ranges.get(0);
+            }
+        } catch (IllegalArgumentException e) {
+            range = null;
+        }
+
+        HttpStatus status = HttpStatus.OK;
+        String s3Range = null;
+        if (range != null) {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(contentLength);
+                end = range.getRangeEnd(contentLength);
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+            s3Range = "bytes=" + start + "-" + end;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + contentLength);
+            contentLength = end - start + 1;
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+        headers.setContentLength(contentLength);
+
+        String objectRange = s3Range;
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream inputStream = s3Service.downloadRangeAsStream(bucketName, s3Key, objectRange, eTag)) {
+                inputStream.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    private boolean matchesETag(List<String> ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch) {
+            // Weak comparison, as If-None-Match requires
+            if ("*".equals(candidate) || stripWeak(candidate).equals(stripWeak(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String stripWeak(String eTag) {
+        return eTag != null && eTag.startsWith("W/") ? eTag.substring(2) : String.valueOf(eTag);
     }
 
     /**
@@ -195,6 +254,117 @@ public class S3Controller {
         }
     }
 
+    /**
+     * Start a resumable upload session; chunks are then PUT as numbered parts
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<Map<String, Object>> startResumableUpload(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("target") String target,
+            @RequestParam(value = "shootId", required = false) Long shootId,
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @RequestParam(value = "size", required = false) Long size) {
+        
+        try {
+            UploadSession session = resumableUploadService.start(target, shootId, fileName, contentType, size);
+            Map<String, Object> response = sessionResponse(session);
+            response.put("chunkSize", s3Service.getPartSize());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to start upload");
+        }
+    }
+
+    /**
+     * Upload one chunk. The raw request body is streamed straight to S3 as part {partNumber};
+     * every chunk except the last must be at least 5MB.
+     */
+    @PutMapping("/uploads/{sessionId}/parts/{partNumber}")
+    public ResponseEntity<Map<String, Object>> uploadChunk(
+            @PathVariable String sessionId,
+            @PathVariable int partNumber,
+            HttpServletRequest request) {
+        
+        try (InputStream inputStream = request.getInputStream()) {
+            UploadSession session = resumableUploadService.uploadChunk(
+                    sessionId, partNumber, inputStream, request.getContentLengthLong());
+            return ResponseEntity.ok(sessionResponse(session));
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to upload chunk");
+        }
+    }
+
+    /**
+     * Query a session to find the offset and next part to resume from
+     */
+    @GetMapping("/uploads/{sessionId}")
+    public ResponseEntity<Map<String, Object>> getResumableUpload(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(sessionResponse(resumableUploadService.getSession(sessionId)));
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to read upload");
+        }
+    }
+
+    /**
+     * Assemble the uploaded chunks into the final object
+     */
+    @PostMapping("/uploads/{sessionId}/complete")
+    public ResponseEntity<Map<String, Object>> completeResumableUpload(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(sessionResponse(resumableUploadService.complete(sessionId)));
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to complete upload");
+        }
+    }
+
+    /**
+     * Abandon a session and discard its chunks
+     */
+    @DeleteMapping("/uploads/{sessionId}")
+    public ResponseEntity<Map<String, Object>> abortResumableUpload(@PathVariable String sessionId) {
+        try {
+            resumableUploadService.abort(sessionId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Upload aborted");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return errorResponse(e, "Failed to abort upload");
+        }
+    }
+
+    private Map<String, Object> sessionResponse(UploadSession session) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("sessionId", session.getId());
+        response.put("uploadStatus", session.getStatus());
+        response.put("fileKey", session.getS3Key());
+        response.put("fileName", session.getFileName());
+        response.put("offset", session.getContiguousOffset());
+        response.put("nextPartNumber", session.getNextPartNumber());
+        response.put("parts", session.getParts().stream().map(part -> part.getPartNumber()).toList());
+        if (session.getTotalSize() != null) {
+            response.put("totalSize", session.getTotalSize());
+        }
+        return response;
+    }
+
+    private ResponseEntity<Map<String, Object>> errorResponse(Exception e, String message) {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        if (e instanceof NoSuchElementException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof IllegalStateException) {
+            status = HttpStatus.CONFLICT;
+        } else if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", message + ": " + e.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+
     /**
      * Health check endpoint
      */
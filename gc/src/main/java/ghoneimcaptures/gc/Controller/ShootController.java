@@ -1,25 +1,36 @@
 package ghoneimcaptures.gc.Controller;
 
-import java.io.File;
-import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import ghoneimcaptures.gc.Dto.AdminPage;
+import ghoneimcaptures.gc.Dto.ShootListItem;
 import ghoneimcaptures.gc.Model.Category;
 import ghoneimcaptures.gc.Model.Image;
 import ghoneimcaptures.gc.Model.Shoot;
@@ -28,12 +39,24 @@ import ghoneimcaptures.gc.Repositories.CategoryRepository;
 import ghoneimcaptures.gc.Repositories.ImageRepository;
 import ghoneimcaptures.gc.Repositories.ShootRepository;
 import ghoneimcaptures.gc.Repositories.VideoRepository;
+import ghoneimcaptures.gc.Service.AdminListingService;
+import ghoneimcaptures.gc.Service.GalleryViewService;
+import ghoneimcaptures.gc.Service.ImageRenditionService;
+import ghoneimcaptures.gc.Service.MediaDeletionService;
+import ghoneimcaptures.gc.Service.MediaIngestService;
+import ghoneimcaptures.gc.Service.MediaIngestService.IngestResult;
+import ghoneimcaptures.gc.Service.MediaObjectService;
 import ghoneimcaptures.gc.Service.S3Service;
 
 @Controller
 @RequestMapping("/admin/shoots")
 public class ShootController {
 
+    private static final Logger log = LoggerFactory.getLogger(ShootController.class);
+
+    private static final Duration IMAGE_UPLOAD_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration VIDEO_UPLOAD_TIMEOUT = Duration.ofMinutes(10);
+
     @Autowired
     private ShootRepository shootRepository;
 
@@ -49,17 +72,48 @@ public class ShootController {
     @Autowired
     private S3Service s3Service;
 
+    @Autowired
+    private ImageRenditionService imageRenditionService;
+
+    @Autowired
+    private MediaDeletionService mediaDeletionService;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
+    @Autowired
+    private MediaObjectService mediaObjectService;
+
+    @Autowired
+    private GalleryViewService galleryViewService;
+
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Value("${aws.s3.bucket.name}")
     private String bucketName;
 
     @Value("${aws.cloudfront.domain}")
     private String cloudFrontDomain;
 
-    // List all shoots
+    // List shoots one keyset page at a time
     @GetMapping
-    public String listShoots(Model model) {
-        List<Shoot> shoots = shootRepository.findAll();
-        model.addAttribute("shoots", shoots);
+    public String listShoots(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "dir", required = false) String direction,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            Model model) {
+        AdminPage<ShootListItem> page = adminListingService.listShoots(query, categoryId, sort, direction, cursor, size);
+        model.addAttribute("page", page);
+        model.addAttribute("shoots", page.items());
+        model.addAttribute("categoryId", categoryId);
+        model.addAttribute("categories", categoryRepository.findAll(Sort.by("name")));
         return "manageshoots";
     }
 
@@ -72,9 +126,9 @@ public class ShootController {
         return "addshoot";
     }
 
-    // Process add shoot
+    // Process add shoot. Files are uploaded outside any transaction: the ingest workers take
+    // pooled connections of their own, and a request holding one while they wait starves the pool.
     @PostMapping("/add")
-    @Transactional
     public String addShootProcess(
             @RequestParam("name") String name,
             @RequestParam("description") String description,
@@ -93,153 +147,107 @@ public class ShootController {
                 return "redirect:/admin/shoots/add";
             }
             
-            // Create new Shoot object
-            Shoot shoot = new Shoot();
-            shoot.setName(name);
-            shoot.setDescription(description);
-            shoot.setDate(date);
-            shoot.setLocation(location);
-            shoot.setCategory(category);
-
             // Save shoot first to get ID
-            Shoot savedShoot = shootRepository.save(shoot);
-
-            // Handle images asynchronously with optimized parallel processing
-            List<CompletableFuture<Image>> imageFutures = new ArrayList<>();
-            if (images != null) {
-                for (MultipartFile imageFile : images) {
-                    if (!imageFile.isEmpty()) {
-                        CompletableFuture<Image> imageFuture = CompletableFuture.supplyAsync(() -> {
-                            try {
-                                String originalFilename = imageFile.getOriginalFilename();
-                                String extension = "";
-                                if (originalFilename != null && originalFilename.contains(".")) {
-                                    extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                                }
-                                String s3Key = "shoots/" + savedShoot.getId() + "/images/" + UUID.randomUUID() + extension;
-
-                                // Upload to S3 asynchronously with timeout
-                                File tempFile = File.createTempFile("temp-", extension);
-                                imageFile.transferTo(tempFile);
-                                
-                                // Use optimized upload with timeout
-                                s3Service.uploadLargeFileAsync(bucketName, s3Key, tempFile)
-                                    .orTimeout(300, java.util.concurrent.TimeUnit.SECONDS) // 5 minute timeout
-                                    .join();
-                                tempFile.delete();
-
-                                // Generate CloudFront URL
-                                String cloudFrontUrl = "https://" + cloudFrontDomain + "/" + s3Key;
-
-                                // Create Image entity
-                                Image image = new Image();
-                                image.setName(originalFilename != null ? originalFilename : "image" + extension);
-                                image.setUrl(cloudFrontUrl);
-                                image.setShoot(savedShoot);
-
-                                return image;
-                            } catch (Exception e) {
-                                System.err.println("Error uploading image: " + e.getMessage());
-                                return null;
-                            }
-                        });
-                        imageFutures.add(imageFuture);
-                    }
-                }
-            }
+            Shoot savedShoot = shootRepository.save(newShoot(name, description, date, location, category));
 
-            // Handle videos asynchronously with optimized parallel processing
-            List<CompletableFuture<Video>> videoFutures = new ArrayList<>();
-            if (videos != null) {
-                for (MultipartFile videoFile : videos) {
-                    if (!videoFile.isEmpty()) {
-                        CompletableFuture<Video> videoFuture = CompletableFuture.supplyAsync(() -> {
-                            try {
-                                String originalFilename = videoFile.getOriginalFilename();
-                                String extension = "";
-                                if (originalFilename != null && originalFilename.contains(".")) {
-                                    extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                                }
-                                String s3Key = "shoots/" + savedShoot.getId() + "/videos/" + UUID.randomUUID() + extension;
-
-                                // Upload to S3 asynchronously with timeout
-                                File tempFile = File.createTempFile("temp-", extension);
-                                videoFile.transferTo(tempFile);
-                                
-                                // Use optimized upload with timeout
-                                s3Service.uploadLargeFileAsync(bucketName, s3Key, tempFile)
-                                    .orTimeout(600, java.util.concurrent.TimeUnit.SECONDS) // 10 minute timeout for videos
-                                    .join();
-                                tempFile.delete();
-
-                                // Generate CloudFront URL
-                                String cloudFrontUrl = "https://" + cloudFrontDomain + "/" + s3Key;
-
-                                // Create Video entity
-                                Video video = new Video();
-                                video.setName(originalFilename != null ? originalFilename : "video" + extension);
-                                video.setUrl(cloudFrontUrl);
-                                video.setShoot(savedShoot);
-
-                                return video;
-                            } catch (Exception e) {
-                                System.err.println("Error uploading video: " + e.getMessage());
-                                return null;
-                            }
-                        });
-                        videoFutures.add(videoFuture);
-                    }
-                }
-            }
+            // Upload images and videos in parallel; each file gets its own result
+            CompletableFuture<List<IngestResult>> imageUploads = mediaIngestService.ingestAsync(
+                    images, "shoots/" + savedShoot.getId() + "/images", IMAGE_UPLOAD_TIMEOUT);
+            CompletableFuture<List<IngestResult>> videoUploads = mediaIngestService.ingestAsync(
+                    videos, "shoots/" + savedShoot.getId() + "/videos", VIDEO_UPLOAD_TIMEOUT);
 
-            // Wait for all uploads to complete and collect results
+            List<IngestResult> uploadResults = new ArrayList<>();
             List<Image> imageList = new ArrayList<>();
-            for (CompletableFuture<Image> future : imageFutures) {
-                try {
-                    Image image = future.get();
-                    if (image != null) {
-                        imageList.add(image);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error processing image upload: " + e.getMessage());
+            for (IngestResult result : imageUploads.join()) {
+                uploadResults.add(result);
+                if (result.isSuccess()) {
+                    imageList.add(new Image(result.name(), result.url(), savedShoot));
                 }
             }
-
             List<Video> videoList = new ArrayList<>();
-            for (CompletableFuture<Video> future : videoFutures) {
-                try {
-                    Video video = future.get();
-                    if (video != null) {
-                        videoList.add(video);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error processing video upload: " + e.getMessage());
+            for (IngestResult result : videoUploads.join()) {
+                uploadResults.add(result);
+                if (result.isSuccess()) {
+                    videoList.add(new Video(result.name(), result.url(), savedShoot));
                 }
             }
 
             // Save all images and videos
-            if (!imageList.isEmpty()) {
-                imageRepository.saveAll(imageList);
-            }
-            if (!videoList.isEmpty()) {
-                videoRepository.saveAll(videoList);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!imageList.isEmpty()) {
+                        imageRepository.saveAll(imageList);
+                        imageRenditionService.scheduleRenditions(imageList);
+                    }
+                    if (!videoList.isEmpty()) {
+                        videoRepository.saveAll(videoList);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Nothing points at the uploads, so hand back their references and drop the new shoot
+                mediaIngestService.discard(uploadResults);
+                try {
+                    shootRepository.deleteById(savedShoot.getId());
+                } catch (RuntimeException deleteError) {
+                    e.addSuppressed(deleteError);
+                }
+                throw e;
             }
 
+            galleryViewService.evictAll();
             redirectAttributes.addFlashAttribute("success", "Shoot added successfully!");
+            addUploadFailures(redirectAttributes, uploadResults);
             return "redirect:/admin/shoots";
 
         } catch (Exception e) {
-            System.err.println("Error adding shoot: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error adding shoot", e);
             redirectAttributes.addFlashAttribute("error", "Error adding shoot: " + e.getMessage());
             return "redirect:/admin/shoots/add";
         }
     }
 
+    // Create a shoot with no media yet. The add form's direct-upload path calls this first so the
+    // browser can upload under shoots/{id}/, then confirms the files it uploaded.
+    @PostMapping("/create")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> createShoot(
+            @RequestParam("name") String name,
+            @RequestParam("description") String description,
+            @RequestParam("date") String date,
+            @RequestParam("location") String location,
+            @RequestParam("categoryId") Long categoryId) {
+        Map<String, Object> response = new HashMap<>();
+        Category category = categoryRepository.findById(categoryId).orElse(null);
+        if (category == null) {
+            response.put("status", "error");
+            response.put("message", "Category not found!");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        Shoot savedShoot = shootRepository.save(newShoot(name, description, date, location, category));
+        galleryViewService.evictAll();
+        response.put("status", "success");
+        response.put("shootId", savedShoot.getId());
+        response.put("confirmUrl", "/admin/shoots/" + savedShoot.getId() + "/media/confirm");
+        response.put("editUrl", "/admin/shoots/edit/" + savedShoot.getId());
+        response.put("redirectUrl", "/admin/shoots");
+        return ResponseEntity.ok(response);
+    }
+
+    private Shoot newShoot(String name, String description, String date, String location, Category category) {
+        Shoot shoot = new Shoot();
+        shoot.setName(name);
+        shoot.setDescription(description);
+        shoot.setDate(date);
+        shoot.setLocation(location);
+        shoot.setCategory(category);
+        return shoot;
+    }
+
     // Show edit shoot form
     @GetMapping("/edit/{id}")
     public String showEditShootForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        Shoot shoot = shootRepository.findById(id).orElse(null);
+        Shoot shoot = shootRepository.findWithCategoryAndImagesById(id).orElse(null);
         if (shoot == null) {
             redirectAttributes.addFlashAttribute("error", "Shoot not found!");
             return "redirect:/admin/shoots";
@@ -251,9 +259,8 @@ public class ShootController {
         return "editshoot";
     }
 
-    // Process edit shoot
+    // Process edit shoot; files are uploaded and checked before the transaction opens, as in add
     @PostMapping("/edit/{id}")
-    @Transactional
     public String editShootProcess(
             @PathVariable Long id,
             @RequestParam("name") String name,
@@ -265,6 +272,10 @@ public class ShootController {
             @RequestParam(value = "newVideos", required = false) MultipartFile[] newVideos,
             @RequestParam(value = "imagesToDelete", required = false) Long[] imagesToDelete,
             @RequestParam(value = "videosToDelete", required = false) Long[] videosToDelete,
+            @RequestParam(value = "uploadedImageKeys", required = false) String[] uploadedImageKeys,
+            @RequestParam(value = "uploadedImageNames", required = false) String[] uploadedImageNames,
+            @RequestParam(value = "uploadedVideoKeys", required = false) String[] uploadedVideoKeys,
+            @RequestParam(value = "uploadedVideoNames", required = false) String[] uploadedVideoNames,
             RedirectAttributes redirectAttributes) {
 
         try {
@@ -275,181 +286,257 @@ public class ShootController {
                 return "redirect:/admin/shoots";
             }
 
-            // Update basic fields
-            existingShoot.setName(name);
-            existingShoot.setDescription(description);
-            existingShoot.setDate(date);
-            existingShoot.setLocation(location);
-
-            // Set category
-            Category category = categoryRepository.findById(categoryId).orElse(null);
-            if (category != null) {
-                existingShoot.setCategory(category);
+            // Files the browser already uploaded straight to S3
+            List<UploadedObject> uploadedImages = uploadedShootObjects(existingShoot, "images", uploadedImageKeys, uploadedImageNames);
+            List<UploadedObject> uploadedVideos = uploadedShootObjects(existingShoot, "videos", uploadedVideoKeys, uploadedVideoNames);
+
+            // Upload new images and videos in parallel; each file gets its own result
+            CompletableFuture<List<IngestResult>> imageUploads = mediaIngestService.ingestAsync(
+                    newImages, "shoots/" + id + "/images", IMAGE_UPLOAD_TIMEOUT);
+            CompletableFuture<List<IngestResult>> videoUploads = mediaIngestService.ingestAsync(
+                    newVideos, "shoots/" + id + "/videos", VIDEO_UPLOAD_TIMEOUT);
+
+            List<IngestResult> uploadResults = new ArrayList<>();
+            List<Image> imageList = confirmedImages(existingShoot, uploadedImages);
+            for (IngestResult result : imageUploads.join()) {
+                uploadResults.add(result);
+                if (result.isSuccess()) {
+                    imageList.add(new Image(result.name(), result.url(), existingShoot));
+                }
             }
-
-            // Save updated shoot
-            Shoot savedShoot = shootRepository.save(existingShoot);
-
-            // Handle image deletions
-            if (imagesToDelete != null) {
-                for (Long imageId : imagesToDelete) {
-                    Image image = imageRepository.findById(imageId).orElse(null);
-                    if (image != null) {
-                        // Delete from S3
-                        String url = image.getUrl();
-                        if (url != null && url.contains(cloudFrontDomain)) {
-                            String s3Key = url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1);
-                            s3Service.deleteFile(bucketName, s3Key);
-                        }
-                        imageRepository.delete(image);
-                    }
+            List<Video> videoList = confirmedVideos(existingShoot, uploadedVideos);
+            for (IngestResult result : videoUploads.join()) {
+                uploadResults.add(result);
+                if (result.isSuccess()) {
+                    videoList.add(new Video(result.name(), result.url(), existingShoot));
                 }
             }
 
-            // Handle video deletions
-            if (videosToDelete != null) {
-                for (Long videoId : videosToDelete) {
-                    Video video = videoRepository.findById(videoId).orElse(null);
-                    if (video != null) {
-                        // Delete from S3
-                        String url = video.getUrl();
-                        if (url != null && url.contains(cloudFrontDomain)) {
-                            String s3Key = url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1);
-                            s3Service.deleteFile(bucketName, s3Key);
-                        }
-                        videoRepository.delete(video);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Update basic fields
+                    existingShoot.setName(name);
+                    existingShoot.setDescription(description);
+                    existingShoot.setDate(date);
+                    existingShoot.setLocation(location);
+
+                    // Set category
+                    Category category = categoryRepository.findById(categoryId).orElse(null);
+                    if (category != null) {
+                        existingShoot.setCategory(category);
                     }
-                }
-            }
 
-            // Handle new images
-            List<Image> imageList = new ArrayList<>();
-            if (newImages != null) {
-                for (MultipartFile imageFile : newImages) {
-                    if (!imageFile.isEmpty()) {
-                        try {
-                            String originalFilename = imageFile.getOriginalFilename();
-                            String extension = "";
-                            if (originalFilename != null && originalFilename.contains(".")) {
-                                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+                    // Save updated shoot
+                    shootRepository.save(existingShoot);
+
+                    // Handle image deletions; unshared S3 objects are removed by the job queue after commit
+                    List<String> keysToDelete = new ArrayList<>();
+                    if (imagesToDelete != null) {
+                        for (Long imageId : imagesToDelete) {
+                            Image image = imageRepository.findById(imageId).orElse(null);
+                            if (image != null) {
+                                String url = image.getUrl();
+                                if (url != null && url.contains(cloudFrontDomain)) {
+                                    keysToDelete.add(url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1));
+                                }
+                                keysToDelete.addAll(imageRenditionService.renditionKeys(image));
+                                imageRepository.delete(image);
                             }
-                            String s3Key = "shoots/" + savedShoot.getId() + "/images/" + UUID.randomUUID() + extension;
-
-                            // Upload to S3
-                            File tempFile = File.createTempFile("temp-", extension);
-                            imageFile.transferTo(tempFile);
-                            s3Service.uploadFile(bucketName, s3Key, tempFile);
-                            tempFile.delete();
-
-                            // Generate CloudFront URL
-                            String cloudFrontUrl = "https://" + cloudFrontDomain + "/" + s3Key;
-
-                            // Create Image entity
-                            Image image = new Image();
-                            image.setName(originalFilename != null ? originalFilename : "image" + extension);
-                            image.setUrl(cloudFrontUrl);
-                            image.setShoot(savedShoot);
-
-                            imageList.add(image);
-                        } catch (IOException e) {
-                            System.err.println("Error uploading image: " + e.getMessage());
                         }
                     }
-                }
-            }
 
-            // Handle new videos
-            List<Video> videoList = new ArrayList<>();
-            if (newVideos != null) {
-                for (MultipartFile videoFile : newVideos) {
-                    if (!videoFile.isEmpty()) {
-                        try {
-                            String originalFilename = videoFile.getOriginalFilename();
-                            String extension = "";
-                            if (originalFilename != null && originalFilename.contains(".")) {
-                                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+                    // Handle video deletions
+                    if (videosToDelete != null) {
+                        for (Long videoId : videosToDelete) {
+                            Video video = videoRepository.findById(videoId).orElse(null);
+                            if (video != null) {
+                                String url = video.getUrl();
+                                if (url != null && url.contains(cloudFrontDomain)) {
+                                    keysToDelete.add(url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1));
+                                }
+                                videoRepository.delete(video);
                             }
-                            String s3Key = "shoots/" + savedShoot.getId() + "/videos/" + UUID.randomUUID() + extension;
-
-                            // Upload to S3
-                            File tempFile = File.createTempFile("temp-", extension);
-                            videoFile.transferTo(tempFile);
-                            s3Service.uploadFile(bucketName, s3Key, tempFile);
-                            tempFile.delete();
-
-                            // Generate CloudFront URL
-                            String cloudFrontUrl = "https://" + cloudFrontDomain + "/" + s3Key;
-
-                            // Create Video entity
-                            Video video = new Video();
-                            video.setName(originalFilename != null ? originalFilename : "video" + extension);
-                            video.setUrl(cloudFrontUrl);
-                            video.setShoot(savedShoot);
-
-                            videoList.add(video);
-                        } catch (IOException e) {
-                            System.err.println("Error uploading video: " + e.getMessage());
                         }
                     }
-                }
-            }
-
-            // Save new images and videos
-            if (!imageList.isEmpty()) {
-                imageRepository.saveAll(imageList);
-            }
-            if (!videoList.isEmpty()) {
-                videoRepository.saveAll(videoList);
+                    mediaDeletionService.release(keysToDelete);
+
+                    // Save new images and videos
+                    retainUploaded(uploadedImages);
+                    retainUploaded(uploadedVideos);
+                    if (!imageList.isEmpty()) {
+                        imageRepository.saveAll(imageList);
+                        imageRenditionService.scheduleRenditions(imageList);
+                    }
+                    if (!videoList.isEmpty()) {
+                        videoRepository.saveAll(videoList);
+                    }
+                });
+            } catch (RuntimeException e) {
+                mediaIngestService.discard(uploadResults);
+                throw e;
             }
 
+            galleryViewService.evictAll();
             redirectAttributes.addFlashAttribute("success", "Shoot updated successfully!");
+            addUploadFailures(redirectAttributes, uploadResults);
             return "redirect:/admin/shoots";
 
         } catch (Exception e) {
-            System.err.println("Error updating shoot: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating shoot {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Error updating shoot: " + e.getMessage());
             return "redirect:/admin/shoots/edit/" + id;
         }
     }
 
+    // Register files uploaded directly to S3 (via pre-signed URLs) as images/videos of a shoot
+    @PostMapping("/{id}/media/confirm")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> confirmUploadedMedia(@PathVariable Long id, @RequestBody UploadedMedia media) {
+        Map<String, Object> response = new HashMap<>();
+        Shoot shoot = shootRepository.findById(id).orElse(null);
+        if (shoot == null) {
+            response.put("status", "error");
+            response.put("message", "Shoot not found!");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        // Check the bucket before the transaction opens
+        List<UploadedObject> uploadedImages = uploadedShootObjects(shoot, "images", keysOf(media.images()), namesOf(media.images()));
+        List<UploadedObject> uploadedVideos = uploadedShootObjects(shoot, "videos", keysOf(media.videos()), namesOf(media.videos()));
+        List<Image> imageList = confirmedImages(shoot, uploadedImages);
+        List<Video> videoList = confirmedVideos(shoot, uploadedVideos);
+        transactionTemplate.executeWithoutResult(status -> {
+            retainUploaded(uploadedImages);
+            retainUploaded(uploadedVideos);
+            imageRepository.saveAll(imageList);
+            videoRepository.saveAll(videoList);
+            imageRenditionService.scheduleRenditions(imageList);
+        });
+
+        galleryViewService.evictAll();
+        response.put("status", "success");
+        response.put("images", imageList.size());
+        response.put("videos", videoList.size());
+        return ResponseEntity.ok(response);
+    }
+
+    // Report files that didn't make it to S3 without failing the whole form
+    private void addUploadFailures(RedirectAttributes redirectAttributes, List<IngestResult> uploadResults) {
+        String failed = MediaIngestService.describeFailures(uploadResults);
+        if (failed != null) {
+            redirectAttributes.addFlashAttribute("error", "Some files could not be uploaded: " + failed);
+        }
+    }
+
+    public record UploadedFile(String key, String name) {
+    }
+
+    public record UploadedMedia(List<UploadedFile> images, List<UploadedFile> videos) {
+    }
+
+    private List<Image> confirmedImages(Shoot shoot, List<UploadedObject> objects) {
+        List<Image> imageList = new ArrayList<>();
+        for (UploadedObject object : objects) {
+            imageList.add(new Image(object.name(), "https://" + cloudFrontDomain + "/" + object.key(), shoot));
+        }
+        return imageList;
+    }
+
+    private List<Video> confirmedVideos(Shoot shoot, List<UploadedObject> objects) {
+        List<Video> videoList = new ArrayList<>();
+        for (UploadedObject object : objects) {
+            videoList.add(new Video(object.name(), "https://" + cloudFrontDomain + "/" + object.key(), shoot));
+        }
+        return videoList;
+    }
+
+    private record UploadedObject(String key, String name, long size) {
+    }
+
+    // Each confirmed object gets a reference for its new row; call inside the transaction that saves the rows
+    private void retainUploaded(List<UploadedObject> objects) {
+        Map<String, Long> sizesByKey = new LinkedHashMap<>();
+        for (UploadedObject object : objects) {
+            sizesByKey.put(object.key(), object.size());
+        }
+        mediaObjectService.retainUploaded(sizesByKey);
+    }
+
+    // Only accept keys under this shoot's folder that actually landed in the bucket; the
+    // existence checks for all of them run in parallel
+    private List<UploadedObject> uploadedShootObjects(Shoot shoot, String folder, String[] keys, String[] names) {
+        String prefix = "shoots/" + shoot.getId() + "/" + folder + "/";
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        for (int i = 0; keys != null && i < keys.length; i++) {
+            String key = keys[i];
+            if (key != null && key.startsWith(prefix) && !key.contains("..")) {
+                namesByKey.put(key, names != null && i < names.length ? names[i] : key.substring(key.lastIndexOf('/') + 1));
+            } else {
+                log.warn("Ignoring uploaded key outside {}: {}", prefix, key);
+            }
+        }
+
+        Map<String, Long> sizes = namesByKey.isEmpty() ? Map.of() : s3Service.objectSizes(bucketName, namesByKey.keySet());
+        List<UploadedObject> objects = new ArrayList<>();
+        namesByKey.forEach((key, name) -> {
+            if (sizes.containsKey(key)) {
+                objects.add(new UploadedObject(key, name, sizes.get(key)));
+            } else {
+                log.warn("Ignoring uploaded key not found in the bucket: {}", key);
+            }
+        });
+        return objects;
+    }
+
+    private String[] keysOf(List<UploadedFile> files) {
+        return files == null ? null : files.stream().map(UploadedFile::key).toArray(String[]::new);
+    }
+
+    private String[] namesOf(List<UploadedFile> files) {
+        return files == null ? null : files.stream().map(UploadedFile::name).toArray(String[]::new);
+    }
+
     // Delete shoot
     @GetMapping("/delete/{id}")
     @Transactional
     public String deleteShoot(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            Shoot shoot = shootRepository.findById(id).orElse(null);
+            Shoot shoot = shootRepository.findWithCategoryAndImagesById(id).orElse(null);
             if (shoot != null) {
-                // Delete images from S3
+                // Queue the shoot's images for removal from S3
+                List<String> keysToDelete = new ArrayList<>();
                 if (shoot.getImages() != null) {
                     for (Image image : shoot.getImages()) {
                         String url = image.getUrl();
                         if (url != null && url.contains(cloudFrontDomain)) {
-                            String s3Key = url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1);
-                            s3Service.deleteFile(bucketName, s3Key);
+                            keysToDelete.add(url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1));
                         }
+                        keysToDelete.addAll(imageRenditionService.renditionKeys(image));
                     }
                 }
 
-                // Delete videos from S3
+                // Queue the shoot's videos for removal from S3
                 if (shoot.getVideos() != null) {
                     for (Video video : shoot.getVideos()) {
                         String url = video.getUrl();
                         if (url != null && url.contains(cloudFrontDomain)) {
-                            String s3Key = url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1);
-                            s3Service.deleteFile(bucketName, s3Key);
+                            keysToDelete.add(url.substring(url.indexOf(cloudFrontDomain) + cloudFrontDomain.length() + 1));
                         }
                     }
                 }
 
                 shootRepository.delete(shoot);
+
+                // Objects under shoots/{id}/ may be shared with other shoots through upload
+                // deduplication, so only those no longer referenced are deleted
+                mediaDeletionService.release(keysToDelete);
+                galleryViewService.evictAll();
                 redirectAttributes.addFlashAttribute("success", "Shoot deleted successfully!");
             } else {
                 redirectAttributes.addFlashAttribute("error", "Shoot not found!");
             }
         } catch (Exception e) {
-            System.err.println("Error deleting shoot: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting shoot {}", id, e);
             redirectAttributes.addFlashAttribute("error", "Error deleting shoot: " + e.getMessage());
         }
 
@@ -1,6 +1,8 @@
 package ghoneimcaptures.gc.Controller;
 
 import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,8 +16,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.view.RedirectView;
 
+import ghoneimcaptures.gc.Dto.AdminPage;
 import ghoneimcaptures.gc.Model.User;
 import ghoneimcaptures.gc.Repositories.UserRepository;
+import ghoneimcaptures.gc.Service.AdminListingService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 
@@ -23,9 +27,14 @@ import jakarta.validation.Valid;
 @Controller
 @RequestMapping("/GC")
 public class UserController {
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AdminListingService adminListingService;
+
 
      @GetMapping("/Login")
     public ModelAndView Login() {
@@ -51,7 +60,7 @@ public class UserController {
                     String hashedPassword = BCrypt.hashpw(pass, BCrypt.gensalt());
                     userAcc.setPassword(hashedPassword);
                     userRepository.save(userAcc);
-                    System.out.println("Password hashed and updated for user: " + userAcc.getEmail());
+                    log.info("Password hashed and updated for user {}", userAcc.getId());
                 }
             }
             
@@ -97,15 +106,21 @@ public class UserController {
     }
 
     @GetMapping("/manageusers")
-    public ModelAndView manageUsers(HttpSession session) {
+    public ModelAndView manageUsers(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "dir", required = false) String direction,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            HttpSession session) {
         ModelAndView mav = new ModelAndView("manageusers.html");
         try {
-            java.util.List<User> users = userRepository.findAll();
-            mav.addObject("users", users);
-            System.out.println("Found " + users.size() + " users");
+            AdminPage<User> page = adminListingService.listUsers(query, sort, direction, cursor, size);
+            mav.addObject("page", page);
+            mav.addObject("users", page.items());
+            log.debug("Found {} users", page.items().size());
         } catch (Exception e) {
-            System.err.println("Error fetching users: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching users", e);
             mav.addObject("users", new java.util.ArrayList<>());
         }
         return mav;
@@ -118,14 +133,13 @@ public class UserController {
             User user = userRepository.findById(id).orElse(null);
             if (user != null) {
                 mav.addObject("user", user);
-                System.out.println("Editing user: " + user.getEmail());
+                log.debug("Editing user {}", id);
             } else {
-                System.err.println("User not found with ID: " + id);
+                log.warn("User not found with ID {}", id);
                 mav.setViewName("redirect:/GC/manageusers");
             }
         } catch (Exception e) {
-            System.err.println("Error fetching user for edit: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching user {} for edit", id, e);
             mav.setViewName("redirect:/GC/manageusers");
         }
         return mav;
@@ -137,14 +151,8 @@ public class UserController {
         ModelAndView mav = new ModelAndView("redirect:/GC/manageusers");
         
         try {
-            System.out.println("Updating user with ID: " + user.getId());
-            System.out.println("User details: " + user.getEmail() + ", " + user.getFirstname() + ", " + user.getLastname());
-            
             if (result.hasErrors()) {
-                System.out.println("Validation errors found:");
-                result.getAllErrors().forEach(error -> {
-                    System.out.println("Error: " + error.getDefaultMessage());
-                });
+                log.debug("Validation errors updating user {}: {}", user.getId(), result.getAllErrors());
                 mav.setViewName("edituser.html");
                 mav.addObject("user", user);
                 return mav;
@@ -164,14 +172,13 @@ public class UserController {
                 
                 // Save the updated user
                 userRepository.save(user);
-                System.out.println("User updated successfully: " + user.getEmail());
+                log.info("Updated user {}", user.getId());
             } else {
-                System.err.println("User not found for update");
+                log.warn("User not found for update: {}", user.getId());
             }
             
         } catch (Exception e) {
-            System.err.println("Error updating user: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating user {}", user.getId(), e);
         }
         
         return mav;
@@ -183,17 +190,15 @@ public class UserController {
         ModelAndView mav = new ModelAndView("redirect:/GC/manageusers");
         
         try {
-            System.out.println("Deleting user with ID: " + id);
             User user = userRepository.findById(id).orElse(null);
             if (user != null) {
                 userRepository.deleteById(id);
-                System.out.println("User deleted successfully: " + user.getEmail());
+                log.info("Deleted user {}", id);
             } else {
-                System.err.println("User not found for deletion");
+                log.warn("User not found for deletion: {}", id);
             }
         } catch (Exception e) {
-            System.err.println("Error deleting user: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting user {}", id, e);
         }
         
         return mav;
@@ -236,69 +241,24 @@ public class UserController {
             newUser.setRole("USER");
         }
         
-        // Debuggg
-        System.out.println("User details before saving:");
-        System.out.println("Email: " + newUser.getEmail());
-        System.out.println("First Name: " + newUser.getFirstname());
-        System.out.println("Last Name: " + newUser.getLastname());
-        System.out.println("Role: " + newUser.getRole());
-        System.out.println("Password length: " + (newUser.getPassword() != null ? newUser.getPassword().length() : "null"));
-        
-        // Check if user already exists
-        boolean userExists = userRepository.existsByEmail(newUser.getEmail());
-        System.out.println("User exists check: " + userExists);
-        
-        // Test database connection by counting users
-        try {
-            long userCount = userRepository.count();
-            System.out.println("Total users in database: " + userCount);
-            
-            // Try to find any existing users
-            if (userCount > 0) {
-                System.out.println("Database has existing users, connection is working");
-            } else {
-                System.out.println("Database is empty but connection is working");
-            }
-        } catch (Exception e) {
-            System.err.println("Database connection test failed: " + e.getMessage());
-            e.printStackTrace();
-        }
-    
         if (result.hasErrors()) {
-            System.out.println("Validation errors found:");
-            result.getAllErrors().forEach(error -> {
-                System.out.println("Error: " + error.getDefaultMessage());
-            });
+            log.debug("Validation errors adding user: {}", result.getAllErrors());
             signupModel.addObject("newUser", newUser);
             signupModel.addObject("errors", result.getAllErrors());
             return signupModel;
         } else {
-            System.out.println("No validation errors, proceeding with save...");
             try {
                 // Hash the password before saving
-                System.out.println("Hashing password...");
                 String hashedPassword = BCrypt.hashpw(newUser.getPassword(), BCrypt.gensalt());
                 newUser.setPassword(hashedPassword);
-                System.out.println("Password hashed successfully");
                 
                 // Save the user directly\
                 newUser.setRole("USER");
                 User savedUser = this.userRepository.save(newUser);
-                System.out.println("User saved successfully with ID: " + savedUser.getId());
-                System.out.println("Saved user email: " + savedUser.getEmail());
-                
-                // Verify the user was actually saved by trying to retrieve it
-                User retrievedUser = this.userRepository.findByEmail(savedUser.getEmail());
-                if (retrievedUser != null) {
-                    System.out.println("User verification successful - user exists in database");
-                } else {
-                    System.out.println("WARNING: User was not found in database after saving");
-                }
-                
+                log.info("Added user {}", savedUser.getId());
                 return loginModel;
             } catch (Exception e) {
-                System.err.println("Error saving user: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error saving user", e);
                 result.rejectValue("email", "error.newUser", "Failed to save user. Please try again.");
                 signupModel.addObject("newUser", newUser);
                 signupModel.addObject("errors", result.getAllErrors());
@@ -0,0 +1,23 @@
+package ghoneimcaptures.gc.Dto;
+
+import java.util.List;
+
+/**
+ * One page of an admin list, with the sort and filter it was read with and opaque cursors
+ * for the pages either side of it (null where there is no such page)
+ */
+public record AdminPage<T>(List<T> items, String query, String sort, String direction, int size,
+                           String previousCursor, String nextCursor) {
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * A category on the projects page
+ */
+public record CategoryCard(Long id, String name, MediaItem image) {
+}
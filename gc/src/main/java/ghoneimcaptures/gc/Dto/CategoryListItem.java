@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * A row of the admin category list
+ */
+public record CategoryListItem(Long id, String name, long shootCount) {
+}
@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * Category columns the gallery needs, with its cover image flattened in (null when absent)
+ */
+public record CategoryRow(Long id, String name, Long imageId, String imageName, String imageUrl) {
+}
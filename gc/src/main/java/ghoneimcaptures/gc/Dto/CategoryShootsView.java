@@ -0,0 +1,10 @@
+package ghoneimcaptures.gc.Dto;
+
+import java.util.List;
+
+/**
+ * A category page: the category header and the first page of its shoots
+ */
+public record CategoryShootsView(Long id, String name, MediaItem image, List<ShootCard> shoots,
+                                 String nextShootsCursor) {
+}
@@ -0,0 +1,9 @@
+package ghoneimcaptures.gc.Dto;
+
+import java.util.List;
+
+/**
+ * One page of a gallery list for infinite scroll; {@code nextCursor} is null on the last page
+ */
+public record GalleryPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * A row count grouped by the id of the owning row
+ */
+public record IdCount(Long id, long count) {
+}
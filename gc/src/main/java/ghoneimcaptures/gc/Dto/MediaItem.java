@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * One image or video as the public pages render it; srcset is null until renditions exist
+ */
+public record MediaItem(Long id, String name, String url, String srcset) {
+}
@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * The columns of an image or video the gallery renders
+ */
+public record MediaRow(Long id, String name, String url) {
+}
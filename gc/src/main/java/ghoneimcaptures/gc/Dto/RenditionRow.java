@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * One rendition of an image, for building its srcset
+ */
+public record RenditionRow(Long imageId, int width, String url) {
+}
@@ -0,0 +1,8 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * A shoot tile on a category page, with its first image as the cover
+ */
+public record ShootCard(Long id, String name, String date, String location, MediaItem cover,
+                        long imageCount, long videoCount) {
+}
@@ -0,0 +1,8 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * Shoot columns for a category page, with media counts and the id of its first image
+ */
+public record ShootCardRow(Long id, String name, String date, String location,
+                           Long coverImageId, long imageCount, long videoCount) {
+}
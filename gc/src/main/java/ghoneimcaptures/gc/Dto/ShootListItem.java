@@ -0,0 +1,8 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * A row of the admin shoot list
+ */
+public record ShootListItem(Long id, String name, String categoryName, String date, String location,
+                            long imageCount, long videoCount) {
+}
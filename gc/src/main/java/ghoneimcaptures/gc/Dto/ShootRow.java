@@ -0,0 +1,7 @@
+package ghoneimcaptures.gc.Dto;
+
+/**
+ * Shoot columns for its detail page
+ */
+public record ShootRow(Long id, String name, String description, String date, String location, Long categoryId) {
+}
@@ -0,0 +1,12 @@
+package ghoneimcaptures.gc.Dto;
+
+import java.util.List;
+
+/**
+ * A shoot detail page: its videos and the first page of its images, with the cursor the
+ * page scripts use to fetch the rest
+ */
+public record ShootView(Long id, String name, String description, String date, String location,
+                        Long categoryId, List<MediaItem> images, List<MediaItem> videos,
+                        long imageCount, String nextImagesCursor) {
+}
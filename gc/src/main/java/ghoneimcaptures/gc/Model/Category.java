@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 @Entity
-@Table(name = "categories")
+// Category with its cover image and shoots, for the edit and delete pages
+@NamedEntityGraph(name = "Category.withImageAndShoots",
+        attributeNodes = { @NamedAttributeNode("image"), @NamedAttributeNode("shoots") })
+@Table(name = "categories", indexes = @Index(name = "idx_categories_name_id", columnList = "name, id"))
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
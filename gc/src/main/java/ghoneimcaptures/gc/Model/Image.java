@@ -2,8 +2,12 @@ package ghoneimcaptures.gc.Model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+
+import java.util.ArrayList;
+import java.util.List;
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = @Index(name = "idx_images_shoot_id_id", columnList = "shoot_id, id"))
 public class Image {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +28,12 @@ public class Image {
     @OneToOne(mappedBy = "image", fetch = FetchType.LAZY)
     private Category category;
     
+    // Resized copies for srcset, generated in the background after upload
+    @OneToMany(mappedBy = "image", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("width ASC")
+    @BatchSize(size = 50)
+    private List<ImageRendition> renditions = new ArrayList<>();
+    
     // Constructors
     public Image() {
     }
@@ -79,4 +89,12 @@ public class Image {
     public void setCategory(Category category) {
         this.category = category;
     }
+    
+    public List<ImageRendition> getRenditions() {
+        return renditions;
+    }
+    
+    public void setRenditions(List<ImageRendition> renditions) {
+        this.renditions = renditions;
+    }
 }
@@ -0,0 +1,84 @@
+package ghoneimcaptures.gc.Model;
+
+import jakarta.persistence.*;
+@Entity
+@Table(name = "image_renditions")
+public class ImageRendition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "width", nullable = false)
+    private int width;
+    @Column(name = "format", nullable = false, length = 16)
+    private String format;
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+    @Column(name = "url", nullable = false)
+    private String url;
+    
+    // Many-to-One relationship with the original Image
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "image_id", nullable = false)
+    private Image image;
+    
+    // Constructors
+    public ImageRendition() {
+    }
+    
+    public ImageRendition(Image image, int width, String format, String s3Key, String url) {
+        this.image = image;
+        this.width = width;
+        this.format = format;
+        this.s3Key = s3Key;
+        this.url = url;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public void setWidth(int width) {
+        this.width = width;
+    }
+    
+    public String getFormat() {
+        return format;
+    }
+    
+    public void setFormat(String format) {
+        this.format = format;
+    }
+    
+    public String getS3Key() {
+        return s3Key;
+    }
+    
+    public void setS3Key(String s3Key) {
+        this.s3Key = s3Key;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public Image getImage() {
+        return image;
+    }
+    
+    public void setImage(Image image) {
+        this.image = image;
+    }
+}
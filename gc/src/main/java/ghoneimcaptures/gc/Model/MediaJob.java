@@ -0,0 +1,137 @@
+package ghoneimcaptures.gc.Model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+@Entity
+@Table(name = "media_jobs", indexes = @Index(name = "idx_media_jobs_status_run_after", columnList = "status, run_after"))
+public class MediaJob {
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final String TYPE_DELETE_OBJECTS = "DELETE_OBJECTS";
+    public static final String TYPE_IMAGE_RENDITIONS = "IMAGE_RENDITIONS";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "type", nullable = false, length = 32)
+    private String type;
+    // A DELETE_OBJECTS batch of 1000 keys outgrows a plain varchar; let the dialect pick its
+    // long text type (LONGTEXT on MySQL, TEXT on PostgreSQL)
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "payload", nullable = false)
+    private String payload;
+    @Column(name = "status", nullable = false, length = 16)
+    private String status;
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+    @Column(name = "run_after", nullable = false)
+    private LocalDateTime runAfter;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public MediaJob() {
+    }
+    
+    public MediaJob(String type, String payload, int maxAttempts) {
+        this.type = type;
+        this.payload = payload;
+        this.maxAttempts = maxAttempts;
+        this.status = STATUS_PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.runAfter = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getRunAfter() {
+        return runAfter;
+    }
+    
+    public void setRunAfter(LocalDateTime runAfter) {
+        this.runAfter = runAfter;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,84 @@
+package ghoneimcaptures.gc.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+@Entity
+@Table(name = "media_objects")
+public class MediaObject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // SHA-256 of the content; null for derived objects such as renditions
+    @Column(name = "content_hash", unique = true, length = 64)
+    private String contentHash;
+    @Column(name = "s3_key", nullable = false, unique = true)
+    private String s3Key;
+    @Column(name = "size")
+    private long size;
+    // Number of Image/Video/rendition rows pointing at this object
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public MediaObject() {
+    }
+    
+    public MediaObject(String contentHash, String s3Key, long size, int refCount) {
+        this.contentHash = contentHash;
+        this.s3Key = s3Key;
+        this.size = size;
+        this.refCount = refCount;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
+    public String getS3Key() {
+        return s3Key;
+    }
+    
+    public void setS3Key(String s3Key) {
+        this.s3Key = s3Key;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public void setSize(long size) {
+        this.size = size;
+    }
+    
+    public int getRefCount() {
+        return refCount;
+    }
+    
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
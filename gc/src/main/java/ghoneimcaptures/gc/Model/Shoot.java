@@ -5,6 +5,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
@@ -15,8 +16,23 @@ import jakarta.persistence.Column;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 @Entity
-@Table(name = "shoots")
+// Shoot with everything its edit and delete pages walk. Image.category is the inverse side of a
+// one-to-one, which Hibernate can't proxy; joining it here avoids one query per image.
+@NamedEntityGraph(name = "Shoot.withCategoryAndImages",
+        attributeNodes = {
+                @NamedAttributeNode("category"),
+                @NamedAttributeNode(value = "images", subgraph = "image")
+        },
+        subgraphs = @NamedSubgraph(name = "image", attributeNodes = @NamedAttributeNode("category")))
+// Admin list sorts seek on (column, id)
+@Table(name = "shoots", indexes = {
+        @Index(name = "idx_shoots_name_id", columnList = "name, id"),
+        @Index(name = "idx_shoots_date_id", columnList = "date, id")
+})
 public class Shoot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,150 @@
+package ghoneimcaptures.gc.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSession {
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_ABORTED = "ABORTED";
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+    @Column(name = "s3_upload_id", nullable = false, length = 1024)
+    private String s3UploadId;
+    @Column(name = "file_name")
+    private String fileName;
+    @Column(name = "content_type")
+    private String contentType;
+    @Column(name = "total_size")
+    private Long totalSize;
+    @Column(name = "status", nullable = false)
+    private String status;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Parts received so far, sorted by part number; each chunk PUT is one S3 multipart part.
+    // Indexed so recording a part writes that one row rather than rewriting the whole list.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "upload_session_parts", joinColumns = @JoinColumn(name = "session_id"))
+    @OrderColumn(name = "part_index")
+    private List<UploadSessionPart> parts = new ArrayList<>();
+    
+    // Constructors
+    public UploadSession() {
+    }
+    
+    public UploadSession(String s3Key, String s3UploadId, String fileName, String contentType, Long totalSize) {
+        this.id = UUID.randomUUID().toString();
+        this.s3Key = s3Key;
+        this.s3UploadId = s3UploadId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.status = STATUS_ACTIVE;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+    
+    /**
+     * Record a received part, replacing any earlier attempt with the same number
+     */
+    public void putPart(UploadSessionPart part) {
+        // Parts mostly arrive in order, so look for the slot from the end
+        int index = parts.size();
+        while (index > 0 && parts.get(index - 1).getPartNumber() > part.getPartNumber()) {
+            index--;
+        }
+        if (index > 0 && parts.get(index - 1).getPartNumber() == part.getPartNumber()) {
+            parts.set(index - 1, part);
+        } else {
+            parts.add(index, part);
+        }
+        updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Bytes received in parts 1..n with no gaps, i.e. where a client should resume from
+     */
+    public long getContiguousOffset() {
+        long offset = 0;
+        int expected = 1;
+        for (UploadSessionPart part : parts) {
+            if (part.getPartNumber() != expected) {
+                break;
+            }
+            offset += part.getSize();
+            expected++;
+        }
+        return offset;
+    }
+    
+    /**
+     * First part number not yet received
+     */
+    public int getNextPartNumber() {
+        int expected = 1;
+        for (UploadSessionPart part : parts) {
+            if (part.getPartNumber() != expected) {
+                break;
+            }
+            expected++;
+        }
+        return expected;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public String getS3Key() {
+        return s3Key;
+    }
+    
+    public String getS3UploadId() {
+        return s3UploadId;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public Long getTotalSize() {
+        return totalSize;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public List<UploadSessionPart> getParts() {
+        return parts;
+    }
+}
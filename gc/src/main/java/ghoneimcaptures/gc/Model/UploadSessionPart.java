@@ -0,0 +1,36 @@
+package ghoneimcaptures.gc.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+@Embeddable
+public class UploadSessionPart {
+    @Column(name = "part_number", nullable = false)
+    private int partNumber;
+    @Column(name = "e_tag", nullable = false)
+    private String eTag;
+    @Column(name = "size", nullable = false)
+    private long size;
+    
+    // Constructors
+    public UploadSessionPart() {
+    }
+    
+    public UploadSessionPart(int partNumber, String eTag, long size) {
+        this.partNumber = partNumber;
+        this.eTag = eTag;
+        this.size = size;
+    }
+    
+    // Getters
+    public int getPartNumber() {
+        return partNumber;
+    }
+    
+    public String getETag() {
+        return eTag;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+}
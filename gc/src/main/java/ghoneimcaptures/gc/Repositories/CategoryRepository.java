@@ -1,12 +1,16 @@
 package ghoneimcaptures.gc.Repositories;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Dto.CategoryRow;
 import ghoneimcaptures.gc.Model.Category;
 import java.util.List;
+import java.util.Optional;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
     Category findByName(String name);
     boolean existsByName(String name);
     
@@ -15,4 +19,16 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.image WHERE c.id = :id")
     Category findByIdWithImage(@Param("id") Long id);
+    
+    @EntityGraph("Category.withImageAndShoots")
+    Optional<Category> findWithImageAndShootsById(Long id);
+    
+    // Read models for the public gallery: only the columns the pages render, no entities
+    @Query("SELECT new ghoneimcaptures.gc.Dto.CategoryRow(c.id, c.name, i.id, i.name, i.url) "
+            + "FROM Category c LEFT JOIN c.image i ORDER BY c.id")
+    List<CategoryRow> findAllRows();
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.CategoryRow(c.id, c.name, i.id, i.name, i.url) "
+            + "FROM Category c LEFT JOIN c.image i WHERE c.id = :id")
+    CategoryRow findRowById(@Param("id") Long id);
 }
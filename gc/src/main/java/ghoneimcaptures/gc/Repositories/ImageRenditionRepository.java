@@ -0,0 +1,21 @@
+package ghoneimcaptures.gc.Repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Dto.RenditionRow;
+import ghoneimcaptures.gc.Model.ImageRendition;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+    List<ImageRendition> findByImageId(Long imageId);
+    
+    // Renditions already made for the same original under another image (deduplicated uploads)
+    List<ImageRendition> findByImage_UrlAndImage_IdNotOrderByImage_IdAscWidthAsc(String url, Long imageId);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.RenditionRow(r.image.id, r.width, r.url) FROM ImageRendition r "
+            + "WHERE r.image.id IN :imageIds ORDER BY r.image.id, r.width")
+    List<RenditionRow> findRowsByImageIdIn(@Param("imageIds") Collection<Long> imageIds);
+}
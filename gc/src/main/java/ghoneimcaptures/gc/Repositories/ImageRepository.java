@@ -1,7 +1,27 @@
 package ghoneimcaptures.gc.Repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Dto.IdCount;
+import ghoneimcaptures.gc.Dto.MediaRow;
 import ghoneimcaptures.gc.Model.Image;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ImageRepository extends JpaRepository<Image, Long> {
+    // Seeks on idx_images_shoot_id_id; pass afterId 0 for the first page
+    @Query("SELECT new ghoneimcaptures.gc.Dto.MediaRow(i.id, i.name, i.url) FROM Image i "
+            + "WHERE i.shoot.id = :shootId AND i.id > :afterId ORDER BY i.id")
+    List<MediaRow> findRowsByShootIdAfter(@Param("shootId") Long shootId, @Param("afterId") Long afterId, Limit limit);
+    
+    long countByShootId(Long shootId);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.MediaRow(i.id, i.name, i.url) FROM Image i WHERE i.id IN :ids")
+    List<MediaRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.IdCount(i.shoot.id, COUNT(i)) FROM Image i WHERE i.shoot.id IN :shootIds GROUP BY i.shoot.id")
+    List<IdCount> countByShootIds(@Param("shootIds") Collection<Long> shootIds);
 }
@@ -0,0 +1,32 @@
+package ghoneimcaptures.gc.Repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Model.MediaJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MediaJobRepository extends JpaRepository<MediaJob, Long> {
+    // Row locks are held until the claiming transaction commits; other workers skip them
+    @Query(value = "SELECT * FROM media_jobs WHERE status = 'PENDING' AND run_after <= :now "
+            + "ORDER BY run_after, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MediaJob> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    // Jobs left RUNNING by a worker that died go back to the queue
+    @Modifying
+    @Query("UPDATE MediaJob j SET j.status = 'PENDING', j.updatedAt = :now "
+            + "WHERE j.status = 'RUNNING' AND j.updatedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT j.status, COUNT(j) FROM MediaJob j GROUP BY j.status")
+    List<Object[]> countByStatus();
+    
+    List<MediaJob> findTop100ByOrderByIdDesc();
+    
+    @Modifying
+    @Query("DELETE FROM MediaJob j WHERE j.status = 'DONE' AND j.updatedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,16 @@
+package ghoneimcaptures.gc.Repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import ghoneimcaptures.gc.Model.MediaObject;
+import jakarta.persistence.LockModeType;
+
+import java.util.Optional;
+
+public interface MediaObjectRepository extends JpaRepository<MediaObject, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MediaObject> findByContentHash(String contentHash);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MediaObject> findByS3Key(String s3Key);
+}
@@ -1,13 +1,21 @@
 package ghoneimcaptures.gc.Repositories;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Dto.IdCount;
+import ghoneimcaptures.gc.Dto.ShootCardRow;
+import ghoneimcaptures.gc.Dto.ShootRow;
 import ghoneimcaptures.gc.Model.Shoot;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ShootRepository extends JpaRepository<Shoot, Long> {
+public interface ShootRepository extends JpaRepository<Shoot, Long>, JpaSpecificationExecutor<Shoot> {
     List<Shoot> findByCategoryId(Long categoryId);
     
     @Query("SELECT s FROM Shoot s WHERE s.category.id = :categoryId")
@@ -15,4 +23,23 @@ public interface ShootRepository extends JpaRepository<Shoot, Long> {
     
     @Query("SELECT DISTINCT s FROM Shoot s LEFT JOIN FETCH s.images WHERE s.category.id = :categoryId")
     List<Shoot> findByCategoryIdWithImages(@Param("categoryId") Long categoryId);
+    
+    @EntityGraph("Shoot.withCategoryAndImages")
+    Optional<Shoot> findWithCategoryAndImagesById(Long id);
+    
+    // Read models for the public gallery: counts and the cover id come from subqueries
+    // instead of loading every image and video of every shoot
+    @Query("SELECT new ghoneimcaptures.gc.Dto.ShootCardRow(s.id, s.name, s.date, s.location, "
+            + "(SELECT MIN(i.id) FROM Image i WHERE i.shoot = s), "
+            + "(SELECT COUNT(i) FROM Image i WHERE i.shoot = s), "
+            + "(SELECT COUNT(v) FROM Video v WHERE v.shoot = s)) "
+            + "FROM Shoot s WHERE s.category.id = :categoryId AND s.id > :afterId ORDER BY s.id")
+    List<ShootCardRow> findCardRowsByCategoryIdAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.ShootRow(s.id, s.name, s.description, s.date, s.location, c.id) "
+            + "FROM Shoot s LEFT JOIN s.category c WHERE s.id = :id")
+    ShootRow findRowById(@Param("id") Long id);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.IdCount(s.category.id, COUNT(s)) FROM Shoot s WHERE s.category.id IN :categoryIds GROUP BY s.category.id")
+    List<IdCount> countByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
 }
@@ -0,0 +1,20 @@
+package ghoneimcaptures.gc.Repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Model.UploadSession;
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UploadSession u WHERE u.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") String id);
+    
+    List<UploadSession> findByStatusAndUpdatedAtBefore(String status, LocalDateTime cutoff);
+}
@@ -1,9 +1,10 @@
 package ghoneimcaptures.gc.Repositories;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import ghoneimcaptures.gc.Model.User;
 
-public interface UserRepository extends JpaRepository<User,Long>{
+public interface UserRepository extends JpaRepository<User,Long>, JpaSpecificationExecutor<User>{
     User findByEmail(String email);
     // User findById(Long id);
     // User findByName(String name);
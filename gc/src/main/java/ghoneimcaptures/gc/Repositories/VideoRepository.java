@@ -1,7 +1,19 @@
 package ghoneimcaptures.gc.Repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ghoneimcaptures.gc.Dto.IdCount;
+import ghoneimcaptures.gc.Dto.MediaRow;
 import ghoneimcaptures.gc.Model.Video;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface VideoRepository extends JpaRepository<Video, Long> {
+    @Query("SELECT new ghoneimcaptures.gc.Dto.MediaRow(v.id, v.name, v.url) FROM Video v WHERE v.shoot.id = :shootId ORDER BY v.id")
+    List<MediaRow> findRowsByShootId(@Param("shootId") Long shootId);
+    
+    @Query("SELECT new ghoneimcaptures.gc.Dto.IdCount(v.shoot.id, COUNT(v)) FROM Video v WHERE v.shoot.id IN :shootIds GROUP BY v.shoot.id")
+    List<IdCount> countByShootIds(@Param("shootIds") Collection<Long> shootIds);
 }
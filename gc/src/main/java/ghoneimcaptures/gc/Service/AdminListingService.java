@@ -0,0 +1,205 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Dto.AdminPage;
+import ghoneimcaptures.gc.Dto.CategoryListItem;
+import ghoneimcaptures.gc.Dto.IdCount;
+import ghoneimcaptures.gc.Dto.ShootListItem;
+import ghoneimcaptures.gc.Model.Category;
+import ghoneimcaptures.gc.Model.Shoot;
+import ghoneimcaptures.gc.Model.User;
+import ghoneimcaptures.gc.Repositories.CategoryRepository;
+import ghoneimcaptures.gc.Repositories.ImageRepository;
+import ghoneimcaptures.gc.Repositories.ShootRepository;
+import ghoneimcaptures.gc.Repositories.UserRepository;
+import ghoneimcaptures.gc.Repositories.VideoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keyset-paginated reads behind the admin list pages. Each page is one seek query for at
+ * most {@code size} rows plus, where a list shows counts, one grouped count query for just
+ * those rows - so a page costs the same however large the archive gets. Sorting is limited
+ * to non-null columns; the id is always appended as a tie-breaker so the order is total.
+ */
+@Service
+public class AdminListingService {
+    private static final List<String> SHOOT_SORTS = List.of("id", "name", "date", "location");
+    private static final List<String> CATEGORY_SORTS = List.of("id", "name");
+    private static final List<String> USER_SORTS = List.of("id", "firstname", "lastname", "email", "role");
+
+    private final ShootRepository shootRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final ImageRepository imageRepository;
+    private final VideoRepository videoRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public AdminListingService(ShootRepository shootRepository,
+                               CategoryRepository categoryRepository,
+                               UserRepository userRepository,
+                               ImageRepository imageRepository,
+                               VideoRepository videoRepository,
+                               @Value("${admin.lists.page-size:25}") int defaultPageSize,
+                               @Value("${admin.lists.max-page-size:100}") int maxPageSize) {
+        this.shootRepository = shootRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.imageRepository = imageRepository;
+        this.videoRepository = videoRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Shoots whose name or location contains {@code query}, optionally only those in one category
+     */
+    @Transactional(readOnly = true)
+    public AdminPage<ShootListItem> listShoots(String query, Long categoryId, String sort, String direction,
+                                               String cursor, Integer size) {
+        // Join the category into the page query; the scroll API doesn't apply fetch graphs
+        Specification<Shoot> filter = (root, criteriaQuery, builder) -> {
+            root.fetch("category", JoinType.LEFT);
+            return builder.conjunction();
+        };
+        if (hasText(query)) {
+            String pattern = likePattern(query);
+            filter = filter.and((root, criteriaQuery, builder) -> builder.or(
+                    builder.like(builder.lower(root.get("name")), pattern, '\\'),
+                    builder.like(builder.lower(root.get("location")), pattern, '\\')));
+        }
+        if (categoryId != null) {
+            filter = filter.and((root, criteriaQuery, builder) -> builder.equal(root.get("category").get("id"), categoryId));
+        }
+
+        Listing<Shoot> listing = scroll(shootRepository, filter, SHOOT_SORTS, sort, direction, cursor, size);
+        List<Long> ids = listing.window().getContent().stream().map(Shoot::getId).toList();
+        Map<Long, Long> imageCounts = ids.isEmpty() ? Map.of() : countsById(imageRepository.countByShootIds(ids));
+        Map<Long, Long> videoCounts = ids.isEmpty() ? Map.of() : countsById(videoRepository.countByShootIds(ids));
+
+        return listing.toPage(query, shoot -> new ShootListItem(shoot.getId(), shoot.getName(),
+                shoot.getCategory() != null ? shoot.getCategory().getName() : null,
+                shoot.getDate(), shoot.getLocation(),
+                imageCounts.getOrDefault(shoot.getId(), 0L), videoCounts.getOrDefault(shoot.getId(), 0L)));
+    }
+
+    /**
+     * Categories whose name contains {@code query}
+     */
+    @Transactional(readOnly = true)
+    public AdminPage<CategoryListItem> listCategories(String query, String sort, String direction,
+                                                      String cursor, Integer size) {
+        Specification<Category> filter = (root, criteriaQuery, builder) -> builder.conjunction();
+        if (hasText(query)) {
+            String pattern = likePattern(query);
+            filter = filter.and((root, criteriaQuery, builder) -> builder.like(builder.lower(root.get("name")), pattern, '\\'));
+        }
+
+        Listing<Category> listing = scroll(categoryRepository, filter, CATEGORY_SORTS, sort, direction, cursor, size);
+        List<Long> ids = listing.window().getContent().stream().map(Category::getId).toList();
+        Map<Long, Long> shootCounts = ids.isEmpty() ? Map.of() : countsById(shootRepository.countByCategoryIds(ids));
+
+        return listing.toPage(query, category -> new CategoryListItem(category.getId(), category.getName(),
+                shootCounts.getOrDefault(category.getId(), 0L)));
+    }
+
+    /**
+     * Users whose first name, last name or email contains {@code query}
+     */
+    @Transactional(readOnly = true)
+    public AdminPage<User> listUsers(String query, String sort, String direction, String cursor, Integer size) {
+        Specification<User> filter = (root, criteriaQuery, builder) -> builder.conjunction();
+        if (hasText(query)) {
+            String pattern = likePattern(query);
+            filter = filter.and((root, criteriaQuery, builder) -> builder.or(
+                    builder.like(builder.lower(root.get("firstname")), pattern, '\\'),
+                    builder.like(builder.lower(root.get("lastname")), pattern, '\\'),
+                    builder.like(builder.lower(root.get("email")), pattern, '\\')));
+        }
+
+        return scroll(userRepository, filter, USER_SORTS, sort, direction, cursor, size).toPage(query, Function.identity());
+    }
+
+    private <T> Listing<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                  List<String> sortable, String sort, String direction,
+                                  String cursor, Integer size) {
+        String property = sort != null && sortable.contains(sort) ? sort : "id";
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = Sort.by(sortDirection, property);
+        if (!"id".equals(property)) {
+            order = order.and(Sort.by(sortDirection, "id"));
+        }
+        int limit = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+
+        // A cursor from another sort (an old link, a hand-edited URL) can't be sought on; start over
+        KeysetScrollPosition position = KeysetCursor.decode(cursor);
+        Set<String> sortKeys = new HashSet<>();
+        order.forEach(o -> sortKeys.add(o.getProperty()));
+        if (!position.isInitial() && !position.getKeys().keySet().equals(sortKeys)) {
+            position = ScrollPosition.keyset();
+        }
+
+        KeysetScrollPosition from = position;
+        Sort finalOrder = order;
+        Window<T> window = repository.findBy(filter, q -> q.sortBy(finalOrder).limit(limit).scroll(from));
+        return new Listing<>(window, from, property, sortDirection.name().toLowerCase(), limit);
+    }
+
+    private record Listing<T>(Window<T> window, KeysetScrollPosition position, String sort, String direction, int size) {
+
+        <R> AdminPage<R> toPage(String query, Function<T, R> mapper) {
+            List<R> items = window.getContent().stream().map(mapper).toList();
+            boolean backward = position.scrollsBackward();
+            // Scrolling backwards, the window's "next" is further back, i.e. our previous page
+            boolean morePrevious = backward ? window.hasNext() : !position.isInitial();
+            boolean moreNext = backward || window.hasNext();
+
+            String previousCursor = null;
+            String nextCursor = null;
+            if (!items.isEmpty()) {
+                if (morePrevious) {
+                    previousCursor = KeysetCursor.encode(((KeysetScrollPosition) window.positionAt(0)).backward());
+                }
+                if (moreNext) {
+                    nextCursor = KeysetCursor.encode(((KeysetScrollPosition) window.positionAt(items.size() - 1)).forward());
+                }
+            }
+            return new AdminPage<>(items, hasText(query) ? query.trim() : null, sort, direction, size,
+                    previousCursor, nextCursor);
+        }
+    }
+
+    private static Map<Long, Long> countsById(List<IdCount> counts) {
+        Map<Long, Long> byId = new HashMap<>();
+        counts.forEach(count -> byId.put(count.id(), count.count()));
+        return byId;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String likePattern(String query) {
+        String escaped = query.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
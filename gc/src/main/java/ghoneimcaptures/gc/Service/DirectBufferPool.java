@@ -0,0 +1,54 @@
+package ghoneimcaptures.gc.Service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pool of off-heap buffers used to stage multipart upload parts.
+ * Callers block in {@link #acquire()} once every buffer is in use, so the memory
+ * held by uploads never exceeds {@code bufferSize * maxBuffers}.
+ */
+public class DirectBufferPool {
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final BlockingQueue<ByteBuffer> available;
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    public DirectBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.available = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    /**
+     * Take a cleared buffer, allocating lazily until the pool limit is reached
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = available.poll();
+        if (buffer == null) {
+            if (allocated.incrementAndGet() <= maxBuffers) {
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+            allocated.decrementAndGet();
+            buffer = available.take();
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer obtained from {@link #acquire()}
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null) {
+            buffer.clear();
+            available.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
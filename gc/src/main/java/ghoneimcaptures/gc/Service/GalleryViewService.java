@@ -0,0 +1,199 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Dto.CategoryCard;
+import ghoneimcaptures.gc.Dto.CategoryRow;
+import ghoneimcaptures.gc.Dto.CategoryShootsView;
+import ghoneimcaptures.gc.Dto.GalleryPage;
+import ghoneimcaptures.gc.Dto.MediaItem;
+import ghoneimcaptures.gc.Dto.MediaRow;
+import ghoneimcaptures.gc.Dto.RenditionRow;
+import ghoneimcaptures.gc.Dto.ShootCard;
+import ghoneimcaptures.gc.Dto.ShootCardRow;
+import ghoneimcaptures.gc.Dto.ShootRow;
+import ghoneimcaptures.gc.Dto.ShootView;
+import ghoneimcaptures.gc.Repositories.CategoryRepository;
+import ghoneimcaptures.gc.Repositories.ImageRenditionRepository;
+import ghoneimcaptures.gc.Repositories.ImageRepository;
+import ghoneimcaptures.gc.Repositories.ShootRepository;
+import ghoneimcaptures.gc.Repositories.VideoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-through cache of the public gallery pages. Pages only change when an admin edits
+ * something, so each view model is built once and served from memory until
+ * {@link #evictAll()} is called by a mutation. Pages are assembled from projection queries
+ * that select only the columns they render, so no entities are loaded or managed at all.
+ * Long lists (a category's shoots, a shoot's images) are served a page at a time, seeking on
+ * the id of the last row shown, so the first paint never depends on how big a shoot is.
+ */
+@Service
+public class GalleryViewService {
+    public static final String PROJECTS_CACHE = "gallery-projects";
+    public static final String CATEGORY_SHOOTS_CACHE = "gallery-category-shoots";
+    public static final String SHOOT_CACHE = "gallery-shoot";
+    public static final String CATEGORY_SHOOT_CARDS_CACHE = "gallery-category-shoot-cards";
+    public static final String SHOOT_IMAGES_CACHE = "gallery-shoot-images";
+
+    private final CategoryRepository categoryRepository;
+    private final ShootRepository shootRepository;
+    private final ImageRepository imageRepository;
+    private final VideoRepository videoRepository;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final int pageSize;
+
+    public GalleryViewService(CategoryRepository categoryRepository,
+                              ShootRepository shootRepository,
+                              ImageRepository imageRepository,
+                              VideoRepository videoRepository,
+                              ImageRenditionRepository imageRenditionRepository,
+                              @Value("${media.gallery.page-size:24}") int pageSize) {
+        this.categoryRepository = categoryRepository;
+        this.shootRepository = shootRepository;
+        this.imageRepository = imageRepository;
+        this.videoRepository = videoRepository;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.pageSize = pageSize;
+    }
+
+    @Cacheable(PROJECTS_CACHE)
+    @Transactional(readOnly = true)
+    public List<CategoryCard> getProjects() {
+        List<CategoryRow> rows = categoryRepository.findAllRows();
+        Map<Long, String> srcsets = srcsetsByImageId(imageRenditionRepository.findRowsByImageIdIn(
+                rows.stream().map(CategoryRow::imageId).filter(Objects::nonNull).toList()));
+        return rows.stream()
+                .map(row -> new CategoryCard(row.id(), row.name(), coverOf(row, srcsets)))
+                .toList();
+    }
+
+    /**
+     * Category page with its first page of shoots, or null when there is no such category
+     */
+    @Cacheable(CATEGORY_SHOOTS_CACHE)
+    @Transactional(readOnly = true)
+    public CategoryShootsView getCategoryShoots(Long categoryId) {
+        CategoryRow category = categoryRepository.findRowById(categoryId);
+        if (category == null) {
+            return null;
+        }
+        GalleryPage<ShootCard> shoots = loadShootCards(categoryId, 0L);
+        Map<Long, String> srcsets = category.imageId() == null ? Map.of()
+                : srcsetsByImageId(imageRenditionRepository.findRowsByImageIdIn(List.of(category.imageId())));
+        return new CategoryShootsView(category.id(), category.name(), coverOf(category, srcsets),
+                shoots.items(), shoots.nextCursor());
+    }
+
+    /**
+     * The shoots of a category after the one with id {@code afterId}, in id order. Empty pages
+     * (past the end, or an unknown category) aren't cached.
+     */
+    @Cacheable(cacheNames = CATEGORY_SHOOT_CARDS_CACHE, unless = "#result.items().isEmpty()")
+    @Transactional(readOnly = true)
+    public GalleryPage<ShootCard> getCategoryShootCards(Long categoryId, Long afterId) {
+        return loadShootCards(categoryId, afterId);
+    }
+
+    /**
+     * Shoot page with its first page of images, or null when there is no such shoot
+     */
+    @Cacheable(SHOOT_CACHE)
+    @Transactional(readOnly = true)
+    public ShootView getShoot(Long shootId) {
+        ShootRow shoot = shootRepository.findRowById(shootId);
+        if (shoot == null) {
+            return null;
+        }
+        GalleryPage<MediaItem> images = loadImages(shootId, 0L);
+        List<MediaItem> videos = videoRepository.findRowsByShootId(shootId).stream()
+                .map(row -> toMediaItem(row, Map.of()))
+                .toList();
+        return new ShootView(shoot.id(), shoot.name(), shoot.description(), shoot.date(), shoot.location(),
+                shoot.categoryId(), images.items(), videos, imageRepository.countByShootId(shootId), images.nextCursor());
+    }
+
+    /**
+     * The images of a shoot after the one with id {@code afterId}, in id order. Empty pages
+     * aren't cached.
+     */
+    @Cacheable(cacheNames = SHOOT_IMAGES_CACHE, unless = "#result.items().isEmpty()")
+    @Transactional(readOnly = true)
+    public GalleryPage<MediaItem> getShootImages(Long shootId, Long afterId) {
+        return loadImages(shootId, afterId);
+    }
+
+    /**
+     * Drop every cached page; called after any admin change to categories, shoots or media.
+     * Inside a transaction this takes effect when it commits.
+     */
+    @CacheEvict(cacheNames = { PROJECTS_CACHE, CATEGORY_SHOOTS_CACHE, CATEGORY_SHOOT_CARDS_CACHE,
+            SHOOT_CACHE, SHOOT_IMAGES_CACHE }, allEntries = true)
+    public void evictAll() {
+    }
+
+    // Reads one row past the page to tell whether another page follows
+    private GalleryPage<ShootCard> loadShootCards(Long categoryId, Long afterId) {
+        List<ShootCardRow> rows = shootRepository.findCardRowsByCategoryIdAfter(categoryId, afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        rows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Long> coverIds = rows.stream().map(ShootCardRow::coverImageId).filter(Objects::nonNull).toList();
+        Map<Long, String> srcsets = coverIds.isEmpty() ? Map.of()
+                : srcsetsByImageId(imageRenditionRepository.findRowsByImageIdIn(coverIds));
+        Map<Long, MediaRow> covers = new HashMap<>();
+        if (!coverIds.isEmpty()) {
+            imageRepository.findRowsByIdIn(coverIds).forEach(cover -> covers.put(cover.id(), cover));
+        }
+
+        List<ShootCard> shoots = rows.stream()
+                .map(row -> new ShootCard(row.id(), row.name(), row.date(), row.location(),
+                        row.coverImageId() == null ? null : toMediaItem(covers.get(row.coverImageId()), srcsets),
+                        row.imageCount(), row.videoCount()))
+                .toList();
+        return new GalleryPage<>(shoots, hasMore ? shoots.get(shoots.size() - 1).id().toString() : null);
+    }
+
+    private GalleryPage<MediaItem> loadImages(Long shootId, Long afterId) {
+        List<MediaRow> rows = imageRepository.findRowsByShootIdAfter(shootId, afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        rows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Long> imageIds = rows.stream().map(MediaRow::id).toList();
+        Map<Long, String> srcsets = imageIds.isEmpty() ? Map.of()
+                : srcsetsByImageId(imageRenditionRepository.findRowsByImageIdIn(imageIds));
+        List<MediaItem> images = rows.stream().map(row -> toMediaItem(row, srcsets)).toList();
+        return new GalleryPage<>(images, hasMore ? images.get(images.size() - 1).id().toString() : null);
+    }
+
+    private MediaItem coverOf(CategoryRow row, Map<Long, String> srcsets) {
+        return row.imageId() == null ? null : toMediaItem(new MediaRow(row.imageId(), row.imageName(), row.imageUrl()), srcsets);
+    }
+
+    private MediaItem toMediaItem(MediaRow row, Map<Long, String> srcsets) {
+        return row == null ? null : new MediaItem(row.id(), row.name(), publicUrl(row.url()), srcsets.get(row.id()));
+    }
+
+    // Rows arrive ordered by image and width, so each srcset lists widths ascending
+    private static Map<Long, String> srcsetsByImageId(List<RenditionRow> renditions) {
+        Map<Long, String> srcsets = new HashMap<>();
+        for (RenditionRow rendition : renditions) {
+            String candidate = rendition.url() + " " + rendition.width() + "w";
+            srcsets.merge(rendition.imageId(), candidate, (existing, next) -> existing + ", " + next);
+        }
+        return srcsets;
+    }
+
+    // Older rows may hold pre-signed URLs; the public pages use the plain object URL
+    private static String publicUrl(String url) {
+        return url != null && url.contains("?") ? url.substring(0, url.indexOf("?")) : url;
+    }
+}
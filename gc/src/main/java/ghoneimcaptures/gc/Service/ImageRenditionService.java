@@ -0,0 +1,299 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.Image;
+import ghoneimcaptures.gc.Model.ImageRendition;
+import ghoneimcaptures.gc.Model.MediaJob;
+import ghoneimcaptures.gc.Repositories.ImageRenditionRepository;
+import ghoneimcaptures.gc.Repositories.ImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Produces downscaled copies of uploaded images so gallery pages can serve a srcset instead
+ * of the camera original. Each image is one media job; the job worker's thread count caps
+ * how many full-size photos are being decoded at once.
+ */
+@Service
+public class ImageRenditionService implements MediaJobHandler {
+    private static final Logger log = LoggerFactory.getLogger(ImageRenditionService.class);
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final S3Service s3Service;
+    private final MediaJobService mediaJobService;
+    private final MediaObjectService mediaObjectService;
+    private final MediaDeletionService mediaDeletionService;
+    private final GalleryViewService galleryViewService;
+    private final ImageRepository imageRepository;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final String cloudFrontDomain;
+    private final int[] widths;
+    private final String format;
+
+    public ImageRenditionService(S3Service s3Service,
+                                 MediaJobService mediaJobService,
+                                 MediaObjectService mediaObjectService,
+                                 MediaDeletionService mediaDeletionService,
+                                 GalleryViewService galleryViewService,
+                                 ImageRepository imageRepository,
+                                 ImageRenditionRepository imageRenditionRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${aws.s3.bucket.name}") String bucketName,
+                                 @Value("${aws.cloudfront.domain}") String cloudFrontDomain,
+                                 @Value("${media.renditions.widths:480,960,1600}") int[] widths) {
+        this.s3Service = s3Service;
+        this.mediaJobService = mediaJobService;
+        this.mediaObjectService = mediaObjectService;
+        this.mediaDeletionService = mediaDeletionService;
+        this.galleryViewService = galleryViewService;
+        this.imageRepository = imageRepository;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bucketName = bucketName;
+        this.cloudFrontDomain = cloudFrontDomain;
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        // WebP only when an ImageIO plugin for it is on the classpath; the JDK ships JPEG
+        this.format = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpeg";
+    }
+
+    /**
+     * Queue rendition jobs for the given images. Inside a transaction the jobs commit (and
+     * become visible to the worker) together with the image rows.
+     */
+    public void scheduleRenditions(Collection<Image> images) {
+        for (Image image : images) {
+            if (image != null && image.getId() != null) {
+                mediaJobService.enqueue(MediaJob.TYPE_IMAGE_RENDITIONS, image.getId().toString());
+            }
+        }
+    }
+
+    /**
+     * S3 keys of an image's renditions, for deleting them along with the original
+     */
+    public List<String> renditionKeys(Image image) {
+        List<String> keys = new ArrayList<>();
+        if (image.getRenditions() != null) {
+            for (ImageRendition rendition : image.getRenditions()) {
+                keys.add(rendition.getS3Key());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public List<String> getTypes() {
+        return List.of(MediaJob.TYPE_IMAGE_RENDITIONS);
+    }
+
+    @Override
+    public void handle(MediaJob job) throws IOException {
+        generateRenditions(Long.valueOf(job.getPayload()));
+    }
+
+    private void generateRenditions(Long imageId) throws IOException {
+        String sourceUrl = imageRepository.findById(imageId).map(Image::getUrl).orElse(null);
+        String sourceKey = keyOf(sourceUrl);
+        if (sourceKey == null) {
+            return;
+        }
+
+        // References this run has taken so far; given back unless the renditions get saved
+        List<String> retained = new ArrayList<>();
+        boolean saved = false;
+        try {
+            saved = generateRenditions(imageId, sourceUrl, sourceKey, retained);
+        } finally {
+            if (!saved) {
+                releaseRetained(retained);
+            }
+        }
+    }
+
+    private boolean generateRenditions(Long imageId, String sourceUrl, String sourceKey, List<String> retained) throws IOException {
+        // A deduplicated upload shares its original with another image; share the renditions too
+        List<ImageRendition> existing = imageRenditionRepository
+                .findByImage_UrlAndImage_IdNotOrderByImage_IdAscWidthAsc(sourceUrl, imageId);
+        if (!existing.isEmpty()) {
+            Long ownerId = existing.get(0).getImage().getId();
+            List<ImageRendition> renditions = new ArrayList<>();
+            for (ImageRendition rendition : existing) {
+                if (rendition.getImage().getId().equals(ownerId)) {
+                    mediaObjectService.retainKey(rendition.getS3Key(), 0);
+                    retained.add(rendition.getS3Key());
+                    renditions.add(new ImageRendition(null, rendition.getWidth(), rendition.getFormat(), rendition.getS3Key(), rendition.getUrl()));
+                }
+            }
+            return save(imageId, renditions);
+        }
+
+        BufferedImage source = readForWidth(sourceKey, widths[widths.length - 1]);
+        if (source == null) {
+            log.warn("Not a readable image, skipping renditions: {}", sourceKey);
+            return false;
+        }
+
+        // Keys are new on every run, so releasing a failed run's objects can't delete a retry's
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<ImageRendition> renditions = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break;
+            }
+            byte[] encoded = encode(scaleToWidth(source, width));
+            String renditionKey = renditionKey(sourceKey, width, run);
+            s3Service.uploadStream(bucketName, renditionKey, new ByteArrayInputStream(encoded), encoded.length);
+            mediaObjectService.register(null, renditionKey, encoded.length);
+            retained.add(renditionKey);
+            renditions.add(new ImageRendition(null, width, format, renditionKey, "https://" + cloudFrontDomain + "/" + renditionKey));
+        }
+        return save(imageId, renditions);
+    }
+
+    /**
+     * Replace the image's renditions; false if there were none or the image was deleted
+     * while we worked
+     */
+    private boolean save(Long imageId, List<ImageRendition> renditions) {
+        if (renditions.isEmpty()) {
+            return false;
+        }
+
+        Boolean saved = transactionTemplate.execute(status -> {
+            if (!imageRepository.existsById(imageId)) {
+                return false;
+            }
+            Image image = imageRepository.getReferenceById(imageId);
+            List<ImageRendition> previous = imageRenditionRepository.findByImageId(imageId);
+            imageRenditionRepository.deleteAll(previous);
+            renditions.forEach(rendition -> rendition.setImage(image));
+            imageRenditionRepository.saveAll(renditions);
+            // A re-run replaces earlier renditions; let go of their references
+            mediaDeletionService.release(previous.stream().map(ImageRendition::getS3Key).toList());
+            // Gallery pages pick up the new srcset
+            galleryViewService.evictAll();
+            return true;
+        });
+        return Boolean.TRUE.equals(saved);
+    }
+
+    // A failed or abandoned run must not leave its references behind, or the objects never get deleted
+    private void releaseRetained(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> mediaDeletionService.release(keys));
+        } catch (RuntimeException e) {
+            log.error("Could not release rendition objects {}", keys, e);
+        }
+    }
+
+    /**
+     * Decode the original, subsampling at read time so a 6000px photo never sits in memory
+     * at full resolution when the largest rendition is a fraction of that
+     */
+    private BufferedImage readForWidth(String key, int targetWidth) throws IOException {
+        try (InputStream inputStream = s3Service.downloadFileAsStream(bucketName, key);
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / targetWidth);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scaleToWidth(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Transparent PNGs get a white background instead of black
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private String keyOf(String url) {
+        String prefix = "https://" + cloudFrontDomain + "/";
+        return url != null && url.startsWith(prefix) ? url.substring(prefix.length()) : null;
+    }
+
+    // shoots/1/images/abc.jpg -> shoots/1/images/renditions/abc-480w-1a2b3c4d.jpg
+    private String renditionKey(String sourceKey, int width, String run) {
+        int slash = sourceKey.lastIndexOf('/');
+        String folder = slash >= 0 ? sourceKey.substring(0, slash + 1) : "";
+        String fileName = sourceKey.substring(slash + 1);
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = "jpeg".equals(format) ? ".jpg" : "." + format;
+        return folder + "renditions/" + baseName + "-" + width + "w-" + run + extension;
+    }
+}
@@ -0,0 +1,44 @@
+package ghoneimcaptures.gc.Service;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Global cap on the number of bytes that may be in flight to S3 at once, shared by
+ * every upload. Permits are counted in KiB so budgets above 2GB still fit in a
+ * {@link Semaphore}.
+ */
+public class InFlightByteBudget {
+    private static final int UNIT = 1024;
+
+    private final int maxPermits;
+    private final Semaphore permits;
+
+    public InFlightByteBudget(long maxBytes) {
+        this.maxPermits = Math.max(1, toPermits(maxBytes));
+        this.permits = new Semaphore(maxPermits, true);
+    }
+
+    /**
+     * Block until {@code bytes} fit in the budget. A single request larger than the whole
+     * budget waits for the budget to drain completely rather than deadlocking.
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        permits.acquire(clamp(bytes));
+    }
+
+    public void release(long bytes) {
+        permits.release(clamp(bytes));
+    }
+
+    public long getAvailableBytes() {
+        return (long) permits.availablePermits() * UNIT;
+    }
+
+    private int clamp(long bytes) {
+        return Math.min(toPermits(bytes), maxPermits);
+    }
+
+    private static int toPermits(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, (bytes + UNIT - 1) / UNIT);
+    }
+}
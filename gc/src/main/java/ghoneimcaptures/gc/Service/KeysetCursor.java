@@ -0,0 +1,74 @@
+package ghoneimcaptures.gc.Service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Turns a keyset scroll position into a URL-safe token and back. The token holds the sort
+ * key values of the row the page starts after (or before, scrolling backwards), so the next
+ * page is a seek on an index rather than an OFFSET over everything before it. Only String
+ * and Long keys are supported, which covers every column the admin lists sort on.
+ */
+final class KeysetCursor {
+    private static final String FORWARD = "f";
+    private static final String BACKWARD = "b";
+
+    private KeysetCursor() {
+    }
+
+    static String encode(KeysetScrollPosition position) {
+        StringJoiner keys = new StringJoiner("&");
+        position.getKeys().forEach((key, value) -> keys.add(
+                URLEncoder.encode(key, StandardCharsets.UTF_8) + "=" + tagged(value)));
+        String encodedKeys = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(keys.toString().getBytes(StandardCharsets.UTF_8));
+        return (position.scrollsBackward() ? BACKWARD : FORWARD) + encodedKeys;
+    }
+
+    /**
+     * The position a token points at; the first page for a missing or unreadable token
+     */
+    static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.length() < 2) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String keys = new String(Base64.getUrlDecoder().decode(cursor.substring(1)), StandardCharsets.UTF_8);
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String pair : keys.split("&")) {
+                int equals = pair.indexOf('=');
+                if (equals < 1 || equals + 1 >= pair.length()) {
+                    return ScrollPosition.keyset();
+                }
+                values.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        untagged(pair.charAt(equals + 1), pair.substring(equals + 2)));
+            }
+            return cursor.startsWith(BACKWARD) ? ScrollPosition.backward(values) : ScrollPosition.forward(values);
+        } catch (IllegalArgumentException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+
+    private static String tagged(Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return "L" + value;
+        }
+        return "S" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+
+    private static Object untagged(char tag, String value) {
+        return switch (tag) {
+            case 'L' -> Long.valueOf(value);
+            case 'S' -> URLDecoder.decode(value, StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown cursor key type " + tag);
+        };
+    }
+}
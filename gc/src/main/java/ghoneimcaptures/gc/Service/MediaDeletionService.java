@@ -0,0 +1,78 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.MediaJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes S3 objects through the media job queue, so deleting a shoot with hundreds of
+ * files doesn't hold the request (and its transaction) open. Keys are deleted in
+ * DeleteObjects batches. There is deliberately no delete-by-prefix: objects can be shared
+ * between rows, so only keys whose reference count dropped to zero are removed.
+ */
+@Service
+public class MediaDeletionService implements MediaJobHandler {
+    private static final int KEYS_PER_JOB = 1000;
+
+    private final S3Service s3Service;
+    private final MediaJobService mediaJobService;
+    private final MediaObjectService mediaObjectService;
+    private final String bucketName;
+
+    public MediaDeletionService(S3Service s3Service,
+                                MediaJobService mediaJobService,
+                                MediaObjectService mediaObjectService,
+                                @Value("${aws.s3.bucket.name}") String bucketName) {
+        this.s3Service = s3Service;
+        this.mediaJobService = mediaJobService;
+        this.mediaObjectService = mediaObjectService;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Drop one reference to each key and queue deletion of the objects nothing else uses.
+     * Use this rather than {@link #deleteLater} for keys stored on Image/Video rows, since
+     * deduplicated uploads share objects.
+     */
+    public void release(Collection<String> keys) {
+        deleteLater(mediaObjectService.release(keys));
+    }
+
+    /**
+     * Queue the keys for deletion; joins the caller's transaction if there is one
+     */
+    public void deleteLater(Collection<String> keys) {
+        List<String> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinctKeys.removeIf(key -> key == null || key.isBlank());
+        for (int from = 0; from < distinctKeys.size(); from += KEYS_PER_JOB) {
+            List<String> chunk = distinctKeys.subList(from, Math.min(from + KEYS_PER_JOB, distinctKeys.size()));
+            mediaJobService.enqueue(MediaJob.TYPE_DELETE_OBJECTS, String.join("\n", chunk));
+        }
+    }
+
+    @Override
+    public List<String> getTypes() {
+        return List.of(MediaJob.TYPE_DELETE_OBJECTS);
+    }
+
+    // Deleting a missing key succeeds in S3, so re-running a partly done job is harmless
+    @Override
+    public void handle(MediaJob job) {
+        Map<String, String> failures = s3Service.deleteFiles(bucketName, Arrays.asList(job.getPayload().split("\n")));
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        // Retry only what failed
+        mediaJobService.updatePayload(job.getId(), String.join("\n", failures.keySet()));
+        throw new IllegalStateException("Could not delete " + failures.size() + " object(s), e.g. "
+                + failures.entrySet().iterator().next());
+    }
+}
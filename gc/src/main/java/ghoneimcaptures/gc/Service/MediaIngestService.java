@@ -0,0 +1,200 @@
+package ghoneimcaptures.gc.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads files posted to the admin forms into S3. Every file in a request is streamed in
+ * parallel on the ingest pool, each with its own timeout; a shared limit caps how many files
+ * are uploading at once across all requests. Content already in the bucket is not sent
+ * again; the result points at the existing object. One file failing doesn't fail the others -
+ * callers get a result per file, in the order the files were given.
+ * <p>
+ * Each successful result holds a committed reference to its object, so callers upload outside
+ * their own transaction and {@link #discard} the results if the rows can't be saved.
+ */
+@Service
+public class MediaIngestService {
+    private static final Logger log = LoggerFactory.getLogger(MediaIngestService.class);
+    private final S3Service s3Service;
+    private final MediaObjectService mediaObjectService;
+    private final MediaDeletionService mediaDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService ingestExecutor;
+    private final Semaphore uploadSlots;
+    private final String bucketName;
+    private final String cloudFrontDomain;
+
+    public MediaIngestService(S3Service s3Service,
+                              MediaObjectService mediaObjectService,
+                              MediaDeletionService mediaDeletionService,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("ingestExecutor") ExecutorService ingestExecutor,
+                              @Value("${media.ingest.max-concurrent-files:8}") int maxConcurrentFiles,
+                              @Value("${aws.s3.bucket.name}") String bucketName,
+                              @Value("${aws.cloudfront.domain}") String cloudFrontDomain) {
+        this.s3Service = s3Service;
+        this.mediaObjectService = mediaObjectService;
+        this.mediaDeletionService = mediaDeletionService;
+        this.transactionTemplate = transactionTemplate;
+        this.ingestExecutor = ingestExecutor;
+        this.uploadSlots = new Semaphore(maxConcurrentFiles, true);
+        this.bucketName = bucketName;
+        this.cloudFrontDomain = cloudFrontDomain;
+    }
+
+    /**
+     * Upload every non-empty file under {@code folder} and wait for all of them
+     */
+    public List<IngestResult> ingest(MultipartFile[] files, String folder, Duration timeout) {
+        return ingestAsync(files, folder, timeout).join();
+    }
+
+    /**
+     * Start uploading every non-empty file under {@code folder}; the future never fails,
+     * per-file errors are reported in the results
+     */
+    public CompletableFuture<List<IngestResult>> ingestAsync(MultipartFile[] files, String folder, Duration timeout) {
+        List<CompletableFuture<IngestResult>> futures = new ArrayList<>();
+        if (files != null) {
+            for (MultipartFile file : files) {
+                if (file != null && !file.isEmpty()) {
+                    futures.add(CompletableFuture.supplyAsync(() -> upload(file, folder, timeout), ingestExecutor));
+                }
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Give back the references the successful uploads took, when the rows that were to point
+     * at them weren't saved; objects nothing else uses are queued for deletion. Failures are
+     * only logged, so callers can use this from their own error handling.
+     */
+    public void discard(List<IngestResult> results) {
+        List<String> keys = results.stream().filter(IngestResult::isSuccess).map(IngestResult::key).toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> mediaDeletionService.release(keys));
+        } catch (RuntimeException e) {
+            log.error("Could not release uploaded objects {}", keys, e);
+        }
+    }
+
+    private IngestResult upload(MultipartFile file, String folder, Duration timeout) {
+        String originalFilename = file.getOriginalFilename();
+        String extension = "";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        }
+        String name = originalFilename != null ? originalFilename : "file" + extension;
+        String s3Key = folder + "/" + UUID.randomUUID() + extension;
+
+        try {
+            // The container has already spooled the part locally, so hashing it first is a
+            // local read that can save the whole transfer
+            String contentHash = sha256(file);
+            String existingKey = mediaObjectService.findAndRetain(contentHash);
+            if (existingKey != null) {
+                return IngestResult.uploaded(name, existingKey, urlOf(existingKey), file.getSize(), true);
+            }
+
+            uploadSlots.acquire();
+            try (InputStream inputStream = file.getInputStream()) {
+                s3Service.uploadStreamAsync(bucketName, s3Key, inputStream, file.getSize())
+                        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .join();
+            } finally {
+                uploadSlots.release();
+            }
+
+            // Someone stored the same content while we uploaded; keep theirs, drop ours
+            String storedKey = mediaObjectService.register(contentHash, s3Key, file.getSize());
+            if (!storedKey.equals(s3Key)) {
+                // The reference to theirs is taken already; losing our copy only costs storage
+                try {
+                    mediaDeletionService.deleteLater(List.of(s3Key));
+                } catch (RuntimeException e) {
+                    log.warn("Could not queue deletion of duplicate upload {}", s3Key, e);
+                }
+                return IngestResult.uploaded(name, storedKey, urlOf(storedKey), file.getSize(), true);
+            }
+            return IngestResult.uploaded(name, s3Key, urlOf(s3Key), file.getSize(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IngestResult.failed(name, "Interrupted");
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Error uploading {} to {}", name, s3Key, cause);
+            return IngestResult.failed(name, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+        }
+    }
+
+    private String urlOf(String s3Key) {
+        return "https://" + cloudFrontDomain + "/" + s3Key;
+    }
+
+    private static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Outcome of one file: its S3 key and CloudFront URL (possibly an existing object with
+     * the same content), or why it failed
+     */
+    public record IngestResult(String name, String key, String url, long size, boolean deduplicated, String error) {
+        static IngestResult uploaded(String name, String key, String url, long size, boolean deduplicated) {
+            return new IngestResult(name, key, url, size, deduplicated, null);
+        }
+
+        static IngestResult failed(String name, String error) {
+            return new IngestResult(name, null, null, 0, false, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /**
+     * "a.jpg, b.mp4" for the files that failed, or null when all succeeded
+     */
+    public static String describeFailures(List<IngestResult> results) {
+        List<String> names = results.stream().filter(result -> !result.isSuccess()).map(IngestResult::name).toList();
+        return names.isEmpty() ? null : String.join(", ", names);
+    }
+}
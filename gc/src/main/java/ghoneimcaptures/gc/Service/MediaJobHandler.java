@@ -0,0 +1,15 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.MediaJob;
+
+import java.util.List;
+
+/**
+ * Executes one type of {@link MediaJob}. Throwing marks the attempt failed and the job is
+ * retried with backoff until it runs out of attempts, so handlers must be safe to re-run.
+ */
+public interface MediaJobHandler {
+    List<String> getTypes();
+
+    void handle(MediaJob job) throws Exception;
+}
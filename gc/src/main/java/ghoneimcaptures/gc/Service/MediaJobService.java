@@ -0,0 +1,82 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.MediaJob;
+import ghoneimcaptures.gc.Repositories.MediaJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent queue for media work that doesn't need to finish inside the request, such as
+ * S3 cleanup and image renditions. Jobs are plain rows, so enqueueing inside a controller
+ * transaction means the work only becomes visible to {@link MediaJobWorker} if that
+ * transaction commits.
+ */
+@Service
+public class MediaJobService {
+    private final MediaJobRepository mediaJobRepository;
+    private final int maxAttempts;
+
+    public MediaJobService(MediaJobRepository mediaJobRepository,
+                           @Value("${media.jobs.max-attempts:5}") int maxAttempts) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Transactional
+    public MediaJob enqueue(String type, String payload) {
+        return mediaJobRepository.save(new MediaJob(type, payload, maxAttempts));
+    }
+
+    /**
+     * Narrow what a job will do on its next attempt, e.g. to the keys that still failed
+     */
+    @Transactional
+    public void updatePayload(Long id, String payload) {
+        mediaJobRepository.findById(id).ifPresent(job -> {
+            job.setPayload(payload);
+            mediaJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Job counts keyed by status, in queue order
+     */
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : List.of(MediaJob.STATUS_PENDING, MediaJob.STATUS_RUNNING, MediaJob.STATUS_DONE, MediaJob.STATUS_FAILED)) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : mediaJobRepository.countByStatus()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    public List<MediaJob> getRecentJobs() {
+        return mediaJobRepository.findTop100ByOrderByIdDesc();
+    }
+
+    /**
+     * Give a failed job a fresh set of attempts
+     */
+    @Transactional
+    public MediaJob retry(Long id) {
+        MediaJob job = mediaJobRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Job not found"));
+        if (!MediaJob.STATUS_FAILED.equals(job.getStatus())) {
+            throw new IllegalStateException("Only failed jobs can be retried");
+        }
+        job.setStatus(MediaJob.STATUS_PENDING);
+        job.setAttempts(0);
+        job.setRunAfter(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        return mediaJobRepository.save(job);
+    }
+}
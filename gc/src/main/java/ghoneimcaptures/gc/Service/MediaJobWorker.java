@@ -0,0 +1,140 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.MediaJob;
+import ghoneimcaptures.gc.Repositories.MediaJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the media job queue at a fixed concurrency. Each poll claims at most as many due
+ * jobs as there are idle worker threads, using {@code FOR UPDATE SKIP LOCKED} so several
+ * application instances can share one queue without handing out the same job twice.
+ */
+@Service
+public class MediaJobWorker {
+    private static final Logger log = LoggerFactory.getLogger(MediaJobWorker.class);
+    private final MediaJobRepository mediaJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, MediaJobHandler> handlers = new HashMap<>();
+    private final Semaphore idleWorkers;
+    private final ExecutorService executor;
+    private final long backoffBaseSeconds;
+    private final long backoffMaxSeconds;
+    private final long staleAfterMinutes;
+    private final long keepDoneDays;
+
+    public MediaJobWorker(MediaJobRepository mediaJobRepository,
+                          PlatformTransactionManager transactionManager,
+                          List<MediaJobHandler> handlers,
+                          @Qualifier("mediaJobExecutor") ExecutorService mediaJobExecutor,
+                          @Value("${media.jobs.threads:2}") int threads,
+                          @Value("${media.jobs.backoff-base-seconds:30}") long backoffBaseSeconds,
+                          @Value("${media.jobs.backoff-max-seconds:3600}") long backoffMaxSeconds,
+                          @Value("${media.jobs.stale-after-minutes:30}") long staleAfterMinutes,
+                          @Value("${media.jobs.keep-done-days:7}") long keepDoneDays) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (MediaJobHandler handler : handlers) {
+            for (String type : handler.getTypes()) {
+                this.handlers.put(type, handler);
+            }
+        }
+        this.idleWorkers = new Semaphore(threads);
+        this.executor = mediaJobExecutor;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.backoffMaxSeconds = backoffMaxSeconds;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.keepDoneDays = keepDoneDays;
+    }
+
+    @Scheduled(fixedDelayString = "${media.jobs.poll-interval-ms:2000}")
+    public void poll() {
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return;
+        }
+
+        List<MediaJob> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            mediaJobRepository.requeueStale(now.minusMinutes(staleAfterMinutes), now);
+            List<MediaJob> jobs = mediaJobRepository.claimDue(now, idle);
+            for (MediaJob job : jobs) {
+                job.setStatus(MediaJob.STATUS_RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setUpdatedAt(now);
+            }
+            return mediaJobRepository.saveAll(jobs);
+        });
+
+        for (MediaJob job : claimed) {
+            idleWorkers.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    idleWorkers.release();
+                }
+            });
+        }
+    }
+
+    @Scheduled(cron = "${media.jobs.cleanup-cron:0 30 3 * * *}")
+    public void purgeFinishedJobs() {
+        Integer purged = transactionTemplate.execute(status ->
+                mediaJobRepository.deleteDoneBefore(LocalDateTime.now().minusDays(keepDoneDays)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} finished media jobs", purged);
+        }
+    }
+
+    private void run(MediaJob job) {
+        MediaJobHandler handler = handlers.get(job.getType());
+        if (handler == null) {
+            finish(job.getId(), MediaJob.STATUS_FAILED, "No handler for job type " + job.getType(), null);
+            return;
+        }
+
+        try {
+            handler.handle(job);
+            finish(job.getId(), MediaJob.STATUS_DONE, null, null);
+        } catch (Exception e) {
+            log.warn("Media job {} ({}) failed on attempt {}", job.getId(), job.getType(), job.getAttempts(), e);
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                finish(job.getId(), MediaJob.STATUS_FAILED, e.toString(), null);
+            } else {
+                finish(job.getId(), MediaJob.STATUS_PENDING, e.toString(), LocalDateTime.now().plusSeconds(backoffSeconds(job.getAttempts())));
+            }
+        }
+    }
+
+    private void finish(Long jobId, String status, String error, LocalDateTime runAfter) {
+        transactionTemplate.executeWithoutResult(tx -> mediaJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setLastError(error != null && error.length() > 2000 ? error.substring(0, 2000) : error);
+            if (runAfter != null) {
+                job.setRunAfter(runAfter);
+            }
+            job.setUpdatedAt(LocalDateTime.now());
+            mediaJobRepository.save(job);
+        }));
+    }
+
+    // 30s, 60s, 120s, ... capped
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+}
@@ -0,0 +1,125 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.MediaObject;
+import ghoneimcaptures.gc.Repositories.MediaObjectRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed index of stored S3 objects with reference counts. Uploads of content
+ * that is already in the bucket reuse the existing key, and an object is only deleted once
+ * the last row pointing at it is gone. Objects with no entry (stored before the index
+ * existed) count as having a single owner.
+ */
+@Service
+public class MediaObjectService {
+    private final MediaObjectRepository mediaObjectRepository;
+    private final TransactionTemplate newTransaction;
+
+    public MediaObjectService(MediaObjectRepository mediaObjectRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.mediaObjectRepository = mediaObjectRepository;
+        // Index updates from upload threads commit on their own, independent of any caller
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * If content with this hash is already stored, take a reference to it and return its key
+     */
+    public String findAndRetain(String contentHash) {
+        return newTransaction.execute(status -> mediaObjectRepository.findByContentHash(contentHash)
+                .map(existing -> {
+                    existing.setRefCount(existing.getRefCount() + 1);
+                    return existing.getS3Key();
+                })
+                .orElse(null));
+    }
+
+    /**
+     * Record a freshly uploaded object with one reference. If a concurrent upload of the same
+     * content registered first, that object is retained instead and its key returned - the
+     * caller should then delete its own copy.
+     */
+    public String register(String contentHash, String s3Key, long size) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    mediaObjectRepository.saveAndFlush(new MediaObject(contentHash, s3Key, size, 1)));
+            return s3Key;
+        } catch (DataIntegrityViolationException e) {
+            String existingKey = contentHash != null ? findAndRetain(contentHash) : null;
+            if (existingKey != null) {
+                return existingKey;
+            }
+            retainKey(s3Key, size);
+            return s3Key;
+        }
+    }
+
+    /**
+     * Take one more reference to an object by key, indexing it if it wasn't yet. An object
+     * that predates the index already has its original owner, so it starts at two.
+     */
+    public void retainKey(String s3Key, long size) {
+        newTransaction.executeWithoutResult(status -> {
+            MediaObject existing = mediaObjectRepository.findByS3Key(s3Key).orElse(null);
+            if (existing != null) {
+                existing.setRefCount(existing.getRefCount() + 1);
+            } else {
+                mediaObjectRepository.save(new MediaObject(null, s3Key, size, 2));
+            }
+        });
+    }
+
+    /**
+     * Take one reference to each object the browser uploaded straight to the bucket (key to
+     * size), indexing new ones with this single owner. Runs in the caller's transaction, so
+     * the counts only change if the rows pointing at them are really saved.
+     */
+    @Transactional
+    public void retainUploaded(Map<String, Long> sizesByKey) {
+        sizesByKey.forEach((key, size) -> {
+            MediaObject existing = mediaObjectRepository.findByS3Key(key).orElse(null);
+            if (existing != null) {
+                existing.setRefCount(existing.getRefCount() + 1);
+            } else {
+                mediaObjectRepository.save(new MediaObject(null, key, size, 1));
+            }
+        });
+    }
+
+    /**
+     * Drop one reference per key and return the keys nothing points at any more, which are
+     * the ones safe to delete from S3. Runs in the caller's transaction, so the counts only
+     * change if the rows referencing them are really deleted.
+     */
+    @Transactional
+    public List<String> release(Collection<String> keys) {
+        List<String> unreferenced = new ArrayList<>();
+        for (String key : keys) {
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            MediaObject existing = mediaObjectRepository.findByS3Key(key).orElse(null);
+            if (existing == null) {
+                unreferenced.add(key);
+            } else if (existing.getRefCount() <= 1) {
+                mediaObjectRepository.delete(existing);
+                unreferenced.add(key);
+            } else {
+                existing.setRefCount(existing.getRefCount() - 1);
+            }
+        }
+        return new ArrayList<>(new LinkedHashSet<>(unreferenced));
+    }
+}
@@ -0,0 +1,71 @@
+package ghoneimcaptures.gc.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Reuses pre-signed URLs per (bucket, key, requested lifetime), so pages that presign the
+ * same assets repeatedly only sign once. A cached URL is handed out until the final tenth of
+ * its lifetime (but at least 30 seconds) remains, so a caller may get a URL with as little as
+ * a tenth of the validity it asked for; only ask for lifetimes where that is still enough.
+ */
+public class PresignedUrlCache {
+    private static final Duration MIN_REMAINING = Duration.ofSeconds(30);
+
+    private final Map<CacheKey, CachedUrl> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+
+    public PresignedUrlCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    PresignedUrlCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public String get(String bucketName, String key, Duration expiration, Supplier<String> presign) {
+        CacheKey cacheKey = new CacheKey(bucketName, key, expiration.getSeconds());
+        Instant now = clock.instant();
+
+        CachedUrl cached = entries.get(cacheKey);
+        if (cached != null && now.plus(refreshMargin(expiration)).isBefore(cached.expiresAt())) {
+            return cached.url();
+        }
+
+        String url = presign.get();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(cacheKey, new CachedUrl(url, now.plus(expiration)));
+        return url;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Duration refreshMargin(Duration expiration) {
+        Duration margin = expiration.dividedBy(10);
+        return margin.compareTo(MIN_REMAINING) < 0 ? MIN_REMAINING : margin;
+    }
+
+    // Drop expired URLs first; if the cache is still full, start over rather than track recency
+    private void evict(Instant now) {
+        entries.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    private record CacheKey(String bucketName, String key, long expirationSeconds) {
+    }
+
+    private record CachedUrl(String url, Instant expiresAt) {
+    }
+}
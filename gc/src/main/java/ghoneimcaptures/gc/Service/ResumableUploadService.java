@@ -0,0 +1,154 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Model.UploadSession;
+import ghoneimcaptures.gc.Model.UploadSessionPart;
+import ghoneimcaptures.gc.Repositories.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Resumable chunked uploads backed by S3 multipart uploads. Each chunk is one S3 part and
+ * the session (key, upload id, received parts) lives in the database, so a client can query
+ * where it stopped and carry on after a dropped connection or a server restart.
+ */
+@Service
+public class ResumableUploadService {
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+    private static final int MAX_PARTS = 10000;
+
+    private final S3Service s3Service;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadKeyService uploadKeyService;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final long expireAfterHours;
+
+    public ResumableUploadService(S3Service s3Service,
+                                  UploadSessionRepository uploadSessionRepository,
+                                  UploadKeyService uploadKeyService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${aws.s3.bucket.name}") String bucketName,
+                                  @Value("${aws.s3.resumable.expire-after-hours:168}") long expireAfterHours) {
+        this.s3Service = s3Service;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadKeyService = uploadKeyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bucketName = bucketName;
+        this.expireAfterHours = expireAfterHours;
+    }
+
+    /**
+     * Open a session and the S3 multipart upload behind it, under a key built for the
+     * upload target as for pre-signed uploads
+     */
+    public UploadSession start(String target, Long shootId, String fileName, String contentType, Long totalSize) {
+        String s3Key = uploadKeyService.newKey(target, shootId, fileName);
+
+        String uploadId = s3Service.createMultipartUpload(bucketName, s3Key, contentType);
+        return uploadSessionRepository.save(new UploadSession(s3Key, uploadId, fileName, contentType, totalSize));
+    }
+
+    /**
+     * Stream one chunk to S3 as part {@code partNumber}. The S3 transfer runs outside any
+     * transaction; only recording the part takes a row lock. Re-sending a part replaces it.
+     */
+    public UploadSession uploadChunk(String sessionId, int partNumber, InputStream inputStream, long contentLength) {
+        if (partNumber < 1 || partNumber > MAX_PARTS) {
+            throw new IllegalArgumentException("Part number must be between 1 and " + MAX_PARTS);
+        }
+        if (contentLength <= 0) {
+            throw new IllegalArgumentException("Chunk must have a Content-Length");
+        }
+
+        UploadSession session = requireActive(getSession(sessionId));
+        String eTag = s3Service.uploadPart(bucketName, session.getS3Key(), session.getS3UploadId(),
+                partNumber, inputStream, contentLength);
+
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = requireActive(lockSession(sessionId));
+            locked.putPart(new UploadSessionPart(partNumber, eTag, contentLength));
+            return uploadSessionRepository.save(locked);
+        });
+    }
+
+    public UploadSession getSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Upload session not found: " + sessionId));
+    }
+
+    /**
+     * Commit the multipart upload once parts 1..n have all arrived
+     */
+    public UploadSession complete(String sessionId) {
+        return transactionTemplate.execute(status -> {
+            UploadSession session = requireActive(lockSession(sessionId));
+
+            List<UploadSessionPart> parts = session.getParts();
+            if (parts.isEmpty() || session.getNextPartNumber() - 1 != parts.size()) {
+                throw new IllegalStateException("Upload is missing part " + session.getNextPartNumber());
+            }
+            if (session.getTotalSize() != null && session.getContiguousOffset() != session.getTotalSize()) {
+                throw new IllegalStateException("Received " + session.getContiguousOffset()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            List<CompletedPart> completedParts = parts.stream()
+                    .map(part -> CompletedPart.builder().partNumber(part.getPartNumber()).eTag(part.getETag()).build())
+                    .toList();
+            s3Service.completeMultipartUpload(bucketName, session.getS3Key(), session.getS3UploadId(), completedParts);
+
+            session.setStatus(UploadSession.STATUS_COMPLETED);
+            return uploadSessionRepository.save(session);
+        });
+    }
+
+    /**
+     * Abort the session and discard any parts already stored in S3
+     */
+    public void abort(String sessionId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UploadSession session = requireActive(lockSession(sessionId));
+            s3Service.abortMultipartUpload(bucketName, session.getS3Key(), session.getS3UploadId());
+            session.setStatus(UploadSession.STATUS_ABORTED);
+            uploadSessionRepository.save(session);
+        });
+    }
+
+    /**
+     * Abort sessions nobody has touched for a while so their parts stop accruing storage
+     */
+    @Scheduled(cron = "${aws.s3.resumable.cleanup-cron:0 0 3 * * *}")
+    public void abortExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expireAfterHours);
+        for (UploadSession session : uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadSession.STATUS_ACTIVE, cutoff)) {
+            try {
+                abort(session.getId());
+            } catch (Exception e) {
+                log.warn("Failed to abort expired upload session {}", session.getId(), e);
+            }
+        }
+    }
+
+    private UploadSession lockSession(String sessionId) {
+        return uploadSessionRepository.findByIdForUpdate(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Upload session not found: " + sessionId));
+    }
+
+    private UploadSession requireActive(UploadSession session) {
+        if (!UploadSession.STATUS_ACTIVE.equals(session.getStatus())) {
+            throw new IllegalStateException("Upload session is " + session.getStatus().toLowerCase());
+        }
+        return session;
+    }
+}
@@ -1,30 +1,135 @@
 package ghoneimcaptures.gc.Service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.UploadFileRequest;
 
+import software.amazon.awssdk.utils.BinaryUtils;
+
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToLongFunction;
 
+/**
+ * Blocking and async S3 access. Every upload, download, head and delete is timed as
+ * {@code s3.operations} (tagged by operation and outcome) and its payload recorded under
+ * {@code s3.bytes}, so transfer latency and volume show up next to the request metrics.
+ */
 @Service
 public class S3Service {
+    private static final Logger log = LoggerFactory.getLogger(S3Service.class);
+    private static final long MULTIPART_THRESHOLD = 50L * 1024 * 1024;
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final int MAX_PARTS = 10000;
+    private static final int MAX_PART_ATTEMPTS = 3;
+    private static final long PART_RETRY_BACKOFF_MS = 500;
+    private static final int MAX_DELETE_BATCH = 1000;
+
     private final S3Client s3Client;
+    private final S3TransferManager transferManager;
+    private final S3Presigner presigner;
+    private final PresignedUrlCache presignedUrlCache;
+    private final boolean asyncTransfersEnabled;
+    private final int partSize;
     private final ExecutorService executorService;
+    private final ExecutorService partPool;
+    private final Executor partExecutor;
+    private final DirectBufferPool bufferPool;
+    private final InFlightByteBudget inFlightBudget;
+    private final int partConcurrency;
+    private final MeterRegistry meterRegistry;
+
+    public S3Service(S3Client s3Client,
+                     @Nullable S3TransferManager transferManager,
+                     S3Presigner presigner,
+                     MeterRegistry meterRegistry,
+                     TaskDecorator taskDecorator,
+                     @Qualifier("s3IoExecutor") ExecutorService s3IoExecutor,
+                     @Value("${aws.s3.presign.cache-size:10000}") int presignCacheSize,
+                     @Value("${aws.s3.transfer.async-enabled:false}") boolean asyncTransfersEnabled,
+                     @Value("${aws.s3.transfer.part-size-mb:8}") long partSizeMb,
+                     @Value("${aws.s3.upload.part-concurrency:4}") int partConcurrency,
+                     @Value("${aws.s3.upload.max-in-flight-mb:256}") long maxInFlightMb) {
+        long maxInFlightBytes = maxInFlightMb * 1024 * 1024;
 
-    public S3Service(S3Client s3Client) {
         this.s3Client = s3Client;
-        this.executorService = Executors.newFixedThreadPool(20); // Increased thread pool for better parallel processing
+        this.transferManager = transferManager;
+        this.presigner = presigner;
+        this.meterRegistry = meterRegistry;
+        this.presignedUrlCache = new PresignedUrlCache(presignCacheSize);
+        // No Transfer Manager bean exists when async transfers are switched off
+        this.asyncTransfersEnabled = asyncTransfersEnabled && transferManager != null;
+        // S3 takes parts of 5MB to 5GB; ours are staged in one buffer or mapped region, so also under 2GB
+        this.partSize = (int) Math.min(Math.clamp(partSizeMb * 1024 * 1024, MIN_PART_SIZE, MAX_PART_SIZE), Integer.MAX_VALUE);
+        this.partConcurrency = Math.max(1, partConcurrency);
+        int maxInFlightParts = (int) Math.max(1, maxInFlightBytes / partSize);
+
+        // Whole-file tasks run on the shared, bounded S3 I/O pool
+        this.executorService = s3IoExecutor;
+        // Parts run on their own pool so whole-file tasks waiting on parts can never starve them
+        this.partPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(maxInFlightParts, new CustomizableThreadFactory("s3-part-")), "s3-part", Tags.empty());
+        this.partExecutor = task -> partPool.execute(taskDecorator.decorate(task));
+        this.bufferPool = new DirectBufferPool(partSize, maxInFlightParts);
+        this.inFlightBudget = new InFlightByteBudget(maxInFlightBytes);
+        Gauge.builder("s3.upload.in-flight.available", inFlightBudget, InFlightByteBudget::getAvailableBytes)
+                .description("Part bytes that may still be sent before uploads wait for a slot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop the part pool's threads once the context (or a benchmark) is done with this service
+     */
+    @PreDestroy
+    public void shutdown() {
+        partPool.shutdown();
     }
 
     public void uploadFile(String bucketName, String key, File file) {
@@ -33,13 +138,16 @@ public class S3Service {
                 .key(key)
                 .build();
         
-        s3Client.putObject(putObjectRequest, RequestBody.fromFile(file));
+        measured("upload", done -> file.length(), () -> s3Client.putObject(putObjectRequest, RequestBody.fromFile(file)));
     }
 
     /**
      * Asynchronous file upload for better performance
      */
     public CompletableFuture<Void> uploadFileAsync(String bucketName, String key, File file) {
+        if (asyncTransfersEnabled) {
+            return transferFileAsync(bucketName, key, file);
+        }
         return CompletableFuture.runAsync(() -> {
             uploadFile(bucketName, key, file);
         }, executorService);
@@ -49,11 +157,18 @@ public class S3Service {
      * Upload large files using multipart upload for better performance
      */
     public CompletableFuture<Void> uploadLargeFileAsync(String bucketName, String key, File file) {
+        if (asyncTransfersEnabled) {
+            // The CRT client splits anything above the part size into parallel parts itself
+            return transferFileAsync(bucketName, key, file);
+        }
         return CompletableFuture.runAsync(() -> {
             try {
                 // For files larger than 50MB, use multipart upload (lowered threshold)
-                if (file.length() > 50 * 1024 * 1024) {
-                    uploadMultipartFile(bucketName, key, file);
+                if (file.length() > MULTIPART_THRESHOLD) {
+                    measured("upload", done -> file.length(), () -> {
+                        uploadMultipartFile(bucketName, key, file);
+                        return null;
+                    });
                 } else {
                     uploadFile(bucketName, key, file);
                 }
@@ -64,98 +179,354 @@ public class S3Service {
     }
 
     /**
-     * Optimized multipart upload for large files with proper chunking
+     * Non-blocking upload through the Transfer Manager; no thread is held while bytes move
      */
-    private void uploadMultipartFile(String bucketName, String key, File file) {
-        String uploadId = null;
-        try {
-            // Create multipart upload
-            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
+    private CompletableFuture<Void> transferFileAsync(String bucketName, String key, File file) {
+        UploadFileRequest uploadRequest = UploadFileRequest.builder()
+                .putObjectRequest(request -> request.bucket(bucketName).key(key))
+                .source(file.toPath())
+                .build();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return transferManager.uploadFile(uploadRequest)
+                .completionFuture()
+                .whenComplete((completedUpload, error) -> record(sample, "upload", error == null, file.length()))
+                .thenApply(completedUpload -> null);
+    }
+
+    /**
+     * Upload directly from an input stream (e.g. MultipartFile.getInputStream()) without
+     * spooling to a temp file. Large streams are sent as multipart uploads staged through
+     * pooled direct buffers, so memory use stays constant regardless of file size.
+     */
+    public void uploadStream(String bucketName, String key, InputStream inputStream, long contentLength) throws IOException {
+        if (contentLength > MULTIPART_THRESHOLD) {
+            measured("upload", done -> contentLength, () -> {
+                uploadMultipartStream(bucketName, key, inputStream, contentLength);
+                return null;
+            });
+            return;
+        }
 
-            CreateMultipartUploadResponse createResponse = s3Client.createMultipartUpload(createRequest);
-            uploadId = createResponse.uploadId();
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        measured("upload", done -> contentLength,
+                () -> s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength)));
+    }
 
-            // Calculate optimal part size (minimum 5MB, maximum 5GB per part)
-            long fileSize = file.length();
-            long partSize = Math.max(5 * 1024 * 1024, fileSize / 10000); // At least 5MB per part
-            partSize = Math.min(partSize, 5L * 1024 * 1024 * 1024); // Max 5GB per part
-            
-            // For files under 100MB, use single part
-            if (fileSize < 100 * 1024 * 1024) {
-                partSize = fileSize;
+    /**
+     * Asynchronous stream upload; the stream is closed once the upload finishes
+     */
+    public CompletableFuture<Void> uploadStreamAsync(String bucketName, String key, InputStream inputStream, long contentLength) {
+        return CompletableFuture.runAsync(() -> {
+            try (InputStream in = inputStream) {
+                uploadStream(bucketName, key, in, contentLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to upload stream: " + e.getMessage(), e);
             }
+        }, executorService);
+    }
 
-            java.util.List<CompletedPart> completedParts = new java.util.ArrayList<>();
-            int partNumber = 1;
-            long position = 0;
+    /**
+     * Multipart upload of a local file. Each part is a read-only memory-mapped region of the
+     * file, so no part is ever copied onto the heap, and parts are sent in parallel.
+     */
+    private void uploadMultipartFile(String bucketName, String key, File file) {
+        long fileSize = file.length();
+        // At least one pooled buffer per part, and never more than S3's 10,000 part limit
+        long filePartSize = Math.max(partSize, (fileSize + MAX_PARTS - 1) / MAX_PARTS);
+        if (filePartSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File too large for multipart upload: " + fileSize + " bytes");
+        }
 
-            try (java.io.RandomAccessFile randomAccessFile = new java.io.RandomAccessFile(file, "r")) {
+        multipartUpload(bucketName, key, parts -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                int partNumber = 1;
+                long position = 0;
                 while (position < fileSize) {
-                    long currentPartSize = Math.min(partSize, fileSize - position);
-                    
-                    // Read file chunk
-                    byte[] buffer = new byte[(int) currentPartSize];
-                    randomAccessFile.seek(position);
-                    randomAccessFile.readFully(buffer);
-
-                    // Upload part
-                    UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                            .bucket(bucketName)
-                            .key(key)
-                            .uploadId(uploadId)
-                            .partNumber(partNumber)
-                            .build();
-
-                    UploadPartResponse uploadPartResponse = s3Client.uploadPart(
-                            uploadPartRequest, 
-                            RequestBody.fromBytes(buffer)
-                    );
-
-                    completedParts.add(CompletedPart.builder()
-                            .partNumber(partNumber)
-                            .eTag(uploadPartResponse.eTag())
-                            .build());
-
+                    long currentPartSize = Math.min(filePartSize, fileSize - position);
+                    parts.reserve(currentPartSize);
+                    MappedByteBuffer region;
+                    try {
+                        region = channel.map(FileChannel.MapMode.READ_ONLY, position, currentPartSize);
+                    } catch (IOException | RuntimeException e) {
+                        parts.unreserve(currentPartSize);
+                        throw e;
+                    }
+                    parts.submit(partNumber, region, currentPartSize, null);
                     position += currentPartSize;
                     partNumber++;
                 }
             }
+        });
+    }
 
-            // Complete multipart upload
-            CompletedMultipartUpload completedUpload = CompletedMultipartUpload.builder()
-                    .parts(completedParts)
-                    .build();
+    /**
+     * Multipart upload from a stream of known length. Parts are read straight into pooled
+     * direct buffers and handed to the SDK without an intermediate byte[]; reading the next
+     * part overlaps with uploading the previous ones.
+     */
+    private void uploadMultipartStream(String bucketName, String key, InputStream inputStream, long contentLength) {
+        if (contentLength > (long) partSize * MAX_PARTS) {
+            throw new IllegalArgumentException("Stream too large for multipart upload: " + contentLength + " bytes");
+        }
 
-            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .uploadId(uploadId)
-                    .multipartUpload(completedUpload)
-                    .build();
+        multipartUpload(bucketName, key, parts -> {
+            ReadableByteChannel channel = Channels.newChannel(inputStream);
+            int partNumber = 1;
+            long remaining = contentLength;
+            while (remaining > 0) {
+                int currentPartSize = (int) Math.min(partSize, remaining);
+                parts.reserve(currentPartSize);
+                ByteBuffer buffer = bufferPool.acquire();
+                try {
+                    buffer.limit(currentPartSize);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer) < 0) {
+                            throw new EOFException("Stream ended " + remaining + " bytes before expected length");
+                        }
+                    }
+                    buffer.flip();
+                } catch (IOException | RuntimeException e) {
+                    bufferPool.release(buffer);
+                    parts.unreserve(currentPartSize);
+                    throw e;
+                }
+                parts.submit(partNumber, buffer, currentPartSize, () -> bufferPool.release(buffer));
+                remaining -= currentPartSize;
+                partNumber++;
+            }
+        });
+    }
 
-            s3Client.completeMultipartUpload(completeRequest);
+    /**
+     * Create a multipart upload, let the caller submit its parts, wait for them all and
+     * commit the sorted parts list. The upload is aborted if any step fails so no orphaned
+     * parts are billed.
+     */
+    private void multipartUpload(String bucketName, String key, PartProducer partProducer) {
+        String uploadId = null;
+        try {
+            uploadId = createMultipartUpload(bucketName, key, null);
+
+            ParallelParts parts = new ParallelParts(bucketName, key, uploadId);
+            try {
+                partProducer.produce(parts);
+            } finally {
+                // Never abort or complete while parts are still being sent
+                parts.awaitAll();
+            }
+
+            completeMultipartUpload(bucketName, key, uploadId, parts.completedParts());
 
         } catch (Exception e) {
             // Abort multipart upload on failure
             if (uploadId != null) {
                 try {
-                    AbortMultipartUploadRequest abortRequest = AbortMultipartUploadRequest.builder()
-                            .bucket(bucketName)
-                            .key(key)
-                            .uploadId(uploadId)
-                            .build();
-                    s3Client.abortMultipartUpload(abortRequest);
+                    abortMultipartUpload(bucketName, key, uploadId);
                 } catch (Exception abortException) {
-                    System.err.println("Failed to abort multipart upload: " + abortException.getMessage());
+                    log.warn("Failed to abort multipart upload {} of {}", uploadId, key, abortException);
                 }
             }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw new RuntimeException("Multipart upload failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Start a multipart upload and return its upload id
+     */
+    public String createMultipartUpload(String bucketName, String key, String contentType) {
+        CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        return s3Client.createMultipartUpload(createRequest).uploadId();
+    }
+
+    /**
+     * Upload a single part straight from a stream (e.g. a servlet request body) and return its ETag
+     */
+    public String uploadPart(String bucketName, String key, String uploadId, int partNumber,
+                             InputStream inputStream, long contentLength) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build();
+
+        return measured("upload_part", done -> contentLength,
+                () -> s3Client.uploadPart(uploadPartRequest, RequestBody.fromInputStream(inputStream, contentLength))).eTag();
+    }
+
+    /**
+     * Commit a multipart upload; parts must be sorted by part number
+     */
+    public void completeMultipartUpload(String bucketName, String key, String uploadId, List<CompletedPart> completedParts) {
+        CompletedMultipartUpload completedUpload = CompletedMultipartUpload.builder()
+                .parts(completedParts)
+                .build();
+
+        CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(completedUpload)
+                .build();
+
+        s3Client.completeMultipartUpload(completeRequest);
+    }
+
+    /**
+     * Abort a multipart upload and discard its stored parts
+     */
+    public void abortMultipartUpload(String bucketName, String key, String uploadId) {
+        AbortMultipartUploadRequest abortRequest = AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .build();
+
+        s3Client.abortMultipartUpload(abortRequest);
+    }
+
+    /**
+     * Part size used for multipart uploads; also the recommended chunk size for resumable uploads
+     */
+    public int getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Upload one part from a buffer, retrying with exponential backoff. The SDK reads
+     * through a fresh view of the buffer on every attempt, so retries work without copying.
+     */
+    private CompletedPart uploadPartWithRetry(String bucketName, String key, String uploadId, int partNumber, ByteBuffer data) {
+        ByteBuffer part = data.asReadOnlyBuffer();
+
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UploadPartResponse uploadPartResponse = s3Client.uploadPart(
+                        uploadPartRequest,
+                        RequestBody.fromContentProvider(() -> BinaryUtils.toStream(part.duplicate()),
+                                part.remaining(), "application/octet-stream")
+                );
+
+                return CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(uploadPartResponse.eTag())
+                        .build();
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_PART_ATTEMPTS) {
+                    throw e;
+                }
+                meterRegistry.counter("s3.part.retries").increment();
+                log.warn("Retrying part {} of {} after attempt {} failed: {}", partNumber, key, attempt, e.getMessage());
+                try {
+                    Thread.sleep(PART_RETRY_BACKOFF_MS << (attempt - 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartProducer {
+        void produce(ParallelParts parts) throws Exception;
+    }
+
+    /**
+     * Parts of one multipart upload in flight on the part pool. At most {@code partConcurrency}
+     * parts of a file run at once, and every part also holds its size against the global
+     * in-flight byte budget until it finishes.
+     */
+    private final class ParallelParts {
+        private final String bucketName;
+        private final String key;
+        private final String uploadId;
+        private final Semaphore slots = new Semaphore(partConcurrency);
+        private final List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+        private volatile Throwable failure;
+
+        ParallelParts(String bucketName, String key, String uploadId) {
+            this.bucketName = bucketName;
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        /**
+         * Block until another part of {@code bytes} may be sent; fails fast once a part has failed
+         */
+        void reserve(long bytes) throws Exception {
+            if (failure != null) {
+                throw new IOException("Part upload failed", failure);
+            }
+            slots.acquire();
+            try {
+                inFlightBudget.acquire(bytes);
+            } catch (InterruptedException e) {
+                slots.release();
+                throw e;
+            }
+        }
+
+        void unreserve(long bytes) {
+            inFlightBudget.release(bytes);
+            slots.release();
+        }
+
+        /**
+         * Send a part reserved with {@link #reserve(long)}; {@code onDone} runs once the part settles
+         */
+        void submit(int partNumber, ByteBuffer data, long bytes, Runnable onDone) {
+            CompletableFuture<CompletedPart> future = CompletableFuture
+                    .supplyAsync(() -> uploadPartWithRetry(bucketName, key, uploadId, partNumber, data), partExecutor)
+                    .whenComplete((part, error) -> {
+                        if (error != null && failure == null) {
+                            failure = error;
+                        }
+                        if (onDone != null) {
+                            onDone.run();
+                        }
+                        unreserve(bytes);
+                    });
+            futures.add(future);
+        }
+
+        void awaitAll() {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+        }
+
+        List<CompletedPart> completedParts() throws IOException {
+            if (failure != null) {
+                throw new IOException("Part upload failed: " + failure.getMessage(), failure);
+            }
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (CompletableFuture<CompletedPart> future : futures) {
+                parts.add(future.join());
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            return parts;
+        }
+    }
+
     /**
      * Download file from S3 to local file system
      */
@@ -165,19 +536,18 @@ public class S3Service {
                 .key(key)
                 .build();
 
-        try (InputStream inputStream = s3Client.getObject(getObjectRequest);
-             FileOutputStream outputStream = new FileOutputStream(destinationFile)) {
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
+        measured("download", copied -> copied, () -> {
+            try (InputStream inputStream = s3Client.getObject(getObjectRequest);
+                 FileOutputStream outputStream = new FileOutputStream(destinationFile)) {
+
+                return inputStream.transferTo(outputStream);
             }
-        }
+        });
     }
 
     /**
-     * Get file as InputStream for streaming
+     * Get file as InputStream for streaming. The timing covers the wait for the response
+     * headers; the object's length is recorded as downloaded bytes.
      */
     public InputStream downloadFileAsStream(String bucketName, String key) {
         GetObjectRequest getObjectRequest = GetObjectRequest.builder()
@@ -185,14 +555,41 @@ public class S3Service {
                 .key(key)
                 .build();
 
-        return s3Client.getObject(getObjectRequest);
+        return measured("download", S3Service::contentLength, () -> s3Client.getObject(getObjectRequest));
+    }
+
+    /**
+     * Fetch object metadata (size, content type, ETag) without the body
+     */
+    public HeadObjectResponse headObject(String bucketName, String key) {
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        return measured("head", null, () -> s3Client.headObject(headObjectRequest));
+    }
+
+    /**
+     * Open an object, or a byte range of it (e.g. "bytes=0-1023"), as a stream. If an ETag is
+     * given the read fails instead of returning bytes from a different version of the object.
+     */
+    public ResponseInputStream<GetObjectResponse> downloadRangeAsStream(String bucketName, String key, String range, String eTag) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range(range)
+                .ifMatch(eTag)
+                .build();
+
+        return measured("download", S3Service::contentLength, () -> s3Client.getObject(getObjectRequest));
     }
 
     /**
      * Generate a pre-signed URL for secure download (expires after specified duration)
      */
     public String generateDownloadUrl(String bucketName, String key, Duration expirationTime) {
-        try (S3Presigner presigner = S3Presigner.create()) {
+        return presignedUrlCache.get(bucketName, key, expirationTime, () -> {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
@@ -205,7 +602,7 @@ public class S3Service {
 
             PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
             return presignedRequest.url().toString();
-        }
+        });
     }
 
     /**
@@ -215,6 +612,89 @@ public class S3Service {
         return generateDownloadUrl(bucketName, key, Duration.ofHours(1));
     }
 
+    /**
+     * Generate a pre-signed PUT URL so a browser can upload an object directly to the bucket.
+     * The uploader must send the same Content-Type that was signed.
+     */
+    public String generateUploadUrl(String bucketName, String key, String contentType, Duration expirationTime) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(expirationTime)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        return presigner.presignPutObject(presignRequest).url().toString();
+    }
+
+    /**
+     * Generate a pre-signed URL for one part of a multipart upload started with createMultipartUpload
+     */
+    public String generateUploadPartUrl(String bucketName, String key, String uploadId, int partNumber, Duration expirationTime) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build();
+
+        UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
+                .signatureDuration(expirationTime)
+                .uploadPartRequest(uploadPartRequest)
+                .build();
+
+        return presigner.presignUploadPart(presignRequest).url().toString();
+    }
+
+    /**
+     * Check whether an object exists, e.g. to confirm a direct browser upload landed
+     */
+    public boolean objectExists(String bucketName, String key) {
+        return objectSize(bucketName, key) != null;
+    }
+
+    /**
+     * Sizes of the given keys that exist in the bucket; missing keys are left out. The HEAD
+     * requests run in parallel on the S3 I/O pool, so confirming a batch of direct uploads
+     * costs about one round trip rather than one per file.
+     */
+    public Map<String, Long> objectSizes(String bucketName, Collection<String> keys) {
+        Map<String, CompletableFuture<Long>> lookups = new LinkedHashMap<>();
+        for (String key : keys) {
+            lookups.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> objectSize(bucketName, k), executorService));
+        }
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        lookups.forEach((key, lookup) -> {
+            Long size = lookup.join();
+            if (size != null) {
+                sizes.put(key, size);
+            }
+        });
+        return sizes;
+    }
+
+    private Long objectSize(String bucketName, String key) {
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        try {
+            return measured("head", null, () -> s3Client.headObject(headObjectRequest)).contentLength();
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Delete file from S3
      */
@@ -224,6 +704,87 @@ public class S3Service {
                 .key(key)
                 .build();
 
-        s3Client.deleteObject(deleteObjectRequest);
+        measured("delete", null, () -> s3Client.deleteObject(deleteObjectRequest));
+        meterRegistry.counter("s3.objects.deleted").increment();
+    }
+
+    /**
+     * Delete many objects with DeleteObjects, up to 1000 keys per request. Returns the keys
+     * S3 could not delete, mapped to its error message; an empty map means all went through.
+     */
+    public Map<String, String> deleteFiles(String bucketName, Collection<String> keys) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        List<ObjectIdentifier> batch = new ArrayList<>(MAX_DELETE_BATCH);
+        for (String key : keys) {
+            batch.add(ObjectIdentifier.builder().key(key).build());
+            if (batch.size() == MAX_DELETE_BATCH) {
+                deleteBatch(bucketName, batch, failures);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteBatch(bucketName, batch, failures);
+        }
+        return failures;
+    }
+
+    private void deleteBatch(String bucketName, List<ObjectIdentifier> batch, Map<String, String> failures) {
+        DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(batch).quiet(true).build())
+                .build();
+
+        // Quiet mode: the response lists only the keys that failed
+        DeleteObjectsResponse response = measured("delete", null, () -> s3Client.deleteObjects(deleteObjectsRequest));
+        for (S3Error error : response.errors()) {
+            failures.put(error.key(), error.code() + ": " + error.message());
+        }
+        meterRegistry.counter("s3.objects.deleted").increment(batch.size() - response.errors().size());
+    }
+
+    @FunctionalInterface
+    private interface S3Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Run one S3 call under the {@code s3.operations} timer. On success {@code bytes} (if given)
+     * measures the payload from the result.
+     */
+    private <T, E extends Exception> T measured(String operation, ToLongFunction<T> bytes, S3Call<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        long size = -1;
+        try {
+            T result = call.call();
+            success = true;
+            if (bytes != null) {
+                size = bytes.applyAsLong(result);
+            }
+            return result;
+        } finally {
+            record(sample, operation, success, size);
+        }
+    }
+
+    private void record(Timer.Sample sample, String operation, boolean success, long bytes) {
+        sample.stop(Timer.builder("s3.operations")
+                .description("S3 calls, from request to response")
+                .tag("operation", operation)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry));
+        if (success && bytes >= 0) {
+            DistributionSummary.builder("s3.bytes")
+                    .description("Bytes sent or fetched per S3 call")
+                    .baseUnit("bytes")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    private static long contentLength(ResponseInputStream<GetObjectResponse> stream) {
+        Long length = stream.response().contentLength();
+        return length != null ? length : -1;
     }
 }
@@ -0,0 +1,58 @@
+package ghoneimcaptures.gc.Service;
+
+import ghoneimcaptures.gc.Repositories.ShootRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Object keys for files the browser uploads itself (pre-signed or resumable). The client only
+ * names what the file is for: shoot media goes under {@code shoots/{id}/images|videos/},
+ * category images under {@code categories/}, each with a fresh UUID as the file name.
+ */
+@Service
+public class UploadKeyService {
+    private static final Pattern EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,10}");
+
+    private final ShootRepository shootRepository;
+
+    public UploadKeyService(ShootRepository shootRepository) {
+        this.shootRepository = shootRepository;
+    }
+
+    /**
+     * A new key for {@code target}: "images" and "videos" belong to an existing shoot,
+     * "category" is a category image
+     */
+    public String newKey(String target, Long shootId, String fileName) {
+        String folder = switch (target == null ? "" : target) {
+            case "images", "videos" -> {
+                if (shootId == null || !shootRepository.existsById(shootId)) {
+                    throw new NoSuchElementException("Shoot not found: " + shootId);
+                }
+                yield "shoots/" + shootId + "/" + target;
+            }
+            case "category" -> "categories";
+            default -> throw new IllegalArgumentException("Unknown upload target: " + target);
+        };
+        return folder + "/" + UUID.randomUUID() + extensionOf(fileName);
+    }
+
+    /**
+     * Whether a key the client sends back could have come from {@link #newKey}
+     */
+    public boolean isUploadKey(String key) {
+        return key != null && !key.contains("..") && (key.startsWith("shoots/") || key.startsWith("categories/"));
+    }
+
+    // Only a plain extension from the browser's file name makes it into the key
+    private String extensionOf(String fileName) {
+        if (fileName != null && fileName.contains(".")) {
+            String extension = fileName.substring(fileName.lastIndexOf("."));
+            return EXTENSION.matcher(extension).matches() ? extension : "";
+        }
+        return "";
+    }
+}
@@ -1,4 +1,4 @@
-// Category Shoots Page JavaScript
+// Category Shoots and Shoot Details Page JavaScript
 
 // Global variables for media management
 let currentMediaItems = [];
@@ -150,3 +150,169 @@ window.onclick = function(event) {
         closeModal();
     }
 }
+
+// Infinite scroll
+// A grid with data-page-url and data-next-cursor holds the first page of a list; further
+// pages are fetched from the gallery API as the visitor nears the end of the grid.
+document.addEventListener('DOMContentLoaded', function() {
+    document.querySelectorAll('[data-page-url][data-next-cursor]').forEach(initInfiniteScroll);
+});
+
+function initInfiniteScroll(grid) {
+    if (!grid.dataset.nextCursor || !('IntersectionObserver' in window)) return;
+
+    const sentinel = document.createElement('div');
+    sentinel.className = 'scroll-sentinel';
+    grid.after(sentinel);
+
+    let loading = false;
+    const observer = new IntersectionObserver(async function(entries) {
+        if (loading || !entries.some(entry => entry.isIntersecting)) return;
+        loading = true;
+        try {
+            const url = grid.dataset.pageUrl + '?cursor=' + encodeURIComponent(grid.dataset.nextCursor);
+            const response = await fetch(url, { headers: { 'Accept': 'application/json' } });
+            if (!response.ok) throw new Error('HTTP ' + response.status);
+            const page = await response.json();
+
+            const render = grid.dataset.itemType === 'shoot' ? renderShootItem : renderImageItem;
+            page.items.forEach(item => grid.appendChild(render(item)));
+            collectMediaItems();
+
+            if (page.nextCursor) {
+                grid.dataset.nextCursor = page.nextCursor;
+            } else {
+                delete grid.dataset.nextCursor;
+                observer.disconnect();
+                sentinel.remove();
+            }
+        } catch (error) {
+            console.error('Error loading more items:', error);
+        } finally {
+            loading = false;
+        }
+    }, { rootMargin: '800px 0px' });
+    observer.observe(sentinel);
+}
+
+const GALLERY_SIZES = '(max-width: 600px) 100vw, (max-width: 1024px) 50vw, 33vw';
+
+function galleryImage(url, srcset, alt, className) {
+    const img = document.createElement('img');
+    img.src = url;
+    if (srcset) {
+        img.srcset = srcset;
+        img.sizes = GALLERY_SIZES;
+    }
+    img.loading = 'lazy';
+    img.alt = alt || '';
+    if (className) img.className = className;
+    return img;
+}
+
+function iconButton(className, iconClass, onClick) {
+    const button = document.createElement('button');
+    button.className = 'action-btn ' + className;
+    button.innerHTML = '<i class="' + iconClass + '"></i>';
+    button.addEventListener('click', function(event) {
+        onClick();
+        event.stopPropagation();
+    });
+    return button;
+}
+
+// Same markup as the image tiles ShootDetails.html renders
+function renderImageItem(image) {
+    const item = document.createElement('div');
+    item.className = 'media-item image-item';
+    item.dataset.type = 'image';
+    item.dataset.url = image.url;
+    item.dataset.name = image.name;
+    item.addEventListener('click', () => previewMedia(image.url, 'image', image.name));
+
+    const preview = document.createElement('div');
+    preview.className = 'media-preview';
+    preview.appendChild(galleryImage(image.url, image.srcset, image.name));
+
+    const overlay = document.createElement('div');
+    overlay.className = 'media-overlay';
+    const badge = document.createElement('div');
+    badge.className = 'media-type-badge';
+    badge.textContent = 'JPG';
+    const actions = document.createElement('div');
+    actions.className = 'media-actions';
+    actions.appendChild(iconButton('preview-btn', 'fas fa-eye', () => previewMedia(image.url, 'image', image.name)));
+    actions.appendChild(iconButton('download-btn', 'fas fa-download', () => downloadFile(image.url, image.name)));
+    overlay.append(badge, actions);
+    preview.appendChild(overlay);
+
+    const info = document.createElement('div');
+    info.className = 'media-info';
+    const name = document.createElement('span');
+    name.className = 'media-name';
+    name.textContent = image.name;
+    info.appendChild(name);
+
+    item.append(preview, info);
+    return item;
+}
+
+// Same markup as the shoot tiles CategoryShoots.html renders
+function renderShootItem(shoot) {
+    const item = document.createElement('div');
+    item.className = 'shoot-item';
+    item.dataset.shootId = shoot.id;
+    item.addEventListener('click', () => viewShoot(shoot.id));
+
+    const preview = document.createElement('div');
+    preview.className = 'shoot-preview';
+    if (shoot.cover) {
+        preview.appendChild(galleryImage(shoot.cover.url, shoot.cover.srcset, shoot.name, 'cover-image'));
+    } else {
+        const noCover = document.createElement('div');
+        noCover.className = 'no-cover';
+        noCover.innerHTML = '<i class="fas fa-camera"></i>';
+        preview.appendChild(noCover);
+    }
+
+    const overlay = document.createElement('div');
+    overlay.className = 'shoot-overlay';
+
+    const info = document.createElement('div');
+    info.className = 'shoot-info';
+    [['h3', 'shoot-name', shoot.name], ['p', 'shoot-date', shoot.date], ['p', 'shoot-location', shoot.location]]
+        .forEach(([tag, className, text]) => {
+            const element = document.createElement(tag);
+            element.className = className;
+            element.textContent = text || '';
+            info.appendChild(element);
+        });
+
+    const stats = document.createElement('div');
+    stats.className = 'shoot-stats';
+    [['fas fa-images', shoot.imageCount], ['fas fa-video', shoot.videoCount]].forEach(([iconClass, count]) => {
+        const stat = document.createElement('div');
+        stat.className = 'stat-item';
+        stat.innerHTML = '<i class="' + iconClass + '"></i>';
+        const value = document.createElement('span');
+        value.textContent = count;
+        stat.appendChild(value);
+        stats.appendChild(stat);
+    });
+
+    const actions = document.createElement('div');
+    actions.className = 'shoot-actions';
+    const view = document.createElement('button');
+    view.className = 'view-btn';
+    view.innerHTML = '<i class="fas fa-eye"></i> View Shoot';
+    view.addEventListener('click', function(event) {
+        viewShoot(shoot.id);
+        event.stopPropagation();
+    });
+    actions.appendChild(view);
+
+    overlay.append(info, stats, actions);
+    preview.appendChild(overlay);
+    item.appendChild(preview);
+    return item;
+}
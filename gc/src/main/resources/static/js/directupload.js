@@ -0,0 +1,204 @@
+// Direct-to-S3 uploads for the admin forms.
+// Files picked in <input type="file" data-direct-upload-target="images|videos|category"> inside a
+// <form data-direct-upload> are PUT straight to the bucket with pre-signed URLs. The server picks each
+// object key from the target: shoot media goes under shoots/{id}/, for the shoot named by the form's
+// data-direct-upload-shoot. The form is then submitted with only the resulting object keys
+// (data-direct-upload-keys / data-direct-upload-names hidden fields).
+// A form for a shoot that doesn't exist yet names a data-direct-upload-create URL instead: the shoot
+// is created from the form's other fields first, then its files are uploaded and confirmed.
+// If anything fails before a shoot is created the form falls back to the regular multipart POST.
+(function () {
+    const MULTIPART_THRESHOLD = 100 * 1024 * 1024; // 100MB
+    const PART_CONCURRENCY = 4;
+
+    async function postForm(url, params) {
+        const response = await fetch(url, { method: 'POST', body: new URLSearchParams(params) });
+        const data = await response.json();
+        if (!response.ok || data.status !== 'success') {
+            throw new Error(data.message || ('Request failed: ' + url));
+        }
+        return data;
+    }
+
+    function presignParams(file, destination) {
+        const params = {
+            fileName: file.name, target: destination.target, contentType: file.type || 'application/octet-stream'
+        };
+        if (destination.shootId) {
+            params.shootId = destination.shootId;
+        }
+        return params;
+    }
+
+    async function uploadSingle(file, destination, onProgress) {
+        const params = presignParams(file, destination);
+        const presigned = await postForm('/api/s3/presign/upload', params);
+        const response = await fetch(presigned.uploadUrl, {
+            method: 'PUT', headers: { 'Content-Type': params.contentType }, body: file
+        });
+        if (!response.ok) {
+            throw new Error('Upload of ' + file.name + ' failed (' + response.status + ')');
+        }
+        onProgress(file.size);
+        return presigned.fileKey;
+    }
+
+    async function uploadMultipart(file, destination, onProgress) {
+        const presigned = await postForm('/api/s3/presign/multipart',
+            Object.assign(presignParams(file, destination), { size: file.size }));
+        const parts = [];
+        let next = 0;
+
+        async function worker() {
+            while (next < presigned.partUrls.length) {
+                const index = next++;
+                const start = index * presigned.partSize;
+                const chunk = file.slice(start, Math.min(start + presigned.partSize, file.size));
+                const response = await fetch(presigned.partUrls[index], { method: 'PUT', body: chunk });
+                const eTag = response.headers.get('ETag');
+                if (!response.ok || !eTag) {
+                    throw new Error('Part ' + (index + 1) + ' of ' + file.name + ' failed');
+                }
+                parts.push({ partNumber: index + 1, eTag: eTag });
+                onProgress(chunk.size);
+            }
+        }
+
+        try {
+            const workers = [];
+            for (let i = 0; i < PART_CONCURRENCY; i++) {
+                workers.push(worker());
+            }
+            await Promise.all(workers);
+        } catch (error) {
+            fetch('/api/s3/presign/multipart?' + new URLSearchParams({
+                fileKey: presigned.fileKey, uploadId: presigned.uploadId
+            }), { method: 'DELETE' });
+            throw error;
+        }
+
+        const response = await fetch('/api/s3/presign/multipart/complete', {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ fileKey: presigned.fileKey, uploadId: presigned.uploadId, parts: parts })
+        });
+        if (!response.ok) {
+            throw new Error('Could not complete upload of ' + file.name);
+        }
+        return presigned.fileKey;
+    }
+
+    // Upload every file; resolves with the files that made it and the number that didn't
+    async function uploadAll(inputs, shootId, onProgress) {
+        const uploads = [];
+        for (const input of inputs) {
+            const destination = { target: input.dataset.directUploadTarget, shootId: shootId };
+            Array.from(input.files).forEach(file => uploads.push(
+                (file.size > MULTIPART_THRESHOLD ? uploadMultipart : uploadSingle)(file, destination, onProgress)
+                    .then(key => ({ input: input, key: key, name: file.name }))));
+        }
+        const results = await Promise.allSettled(uploads);
+        results.filter(result => result.status === 'rejected').forEach(result => console.error(result.reason));
+        return {
+            uploaded: results.filter(result => result.status === 'fulfilled').map(result => result.value),
+            failed: results.filter(result => result.status === 'rejected').length
+        };
+    }
+
+    // The form's fields without its files
+    function fieldsOf(form) {
+        const params = new URLSearchParams();
+        new FormData(form).forEach((value, name) => {
+            if (typeof value === 'string') {
+                params.append(name, value);
+            }
+        });
+        return params;
+    }
+
+    async function confirmUploads(url, uploaded) {
+        const filesFor = target => uploaded
+            .filter(result => result.input.dataset.directUploadTarget === target)
+            .map(result => ({ key: result.key, name: result.name }));
+        const response = await fetch(url, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ images: filesFor('images'), videos: filesFor('videos') })
+        });
+        if (!response.ok) {
+            throw new Error('Could not save the uploaded files');
+        }
+    }
+
+    function addHidden(form, name, value) {
+        const input = document.createElement('input');
+        input.type = 'hidden';
+        input.name = name;
+        input.value = value;
+        form.appendChild(input);
+    }
+
+    document.querySelectorAll('form[data-direct-upload]').forEach(function (form) {
+        form.addEventListener('submit', async function (e) {
+            // Respect the page's own validation, and let the final submit through
+            if (e.defaultPrevented || form.dataset.directUploadDone || !window.fetch) {
+                return;
+            }
+            const inputs = Array.from(form.querySelectorAll('input[type=file][data-direct-upload-target]'))
+                .filter(input => input.files.length > 0);
+            if (inputs.length === 0) {
+                return;
+            }
+            e.preventDefault();
+
+            const totalBytes = inputs.reduce((sum, input) =>
+                sum + Array.from(input.files).reduce((s, file) => s + file.size, 0), 0);
+            let sentBytes = 0;
+            const onProgress = function (bytes) {
+                sentBytes += bytes;
+                form.dispatchEvent(new CustomEvent('directupload:progress', {
+                    detail: { sentBytes: sentBytes, totalBytes: totalBytes }
+                }));
+            };
+
+            let created = null;
+            try {
+                if (form.dataset.directUploadCreate) {
+                    created = await postForm(form.dataset.directUploadCreate, fieldsOf(form));
+                }
+                const shootId = created ? created.shootId : form.dataset.directUploadShoot;
+                const result = await uploadAll(inputs, shootId, onProgress);
+                if (created) {
+                    if (result.uploaded.length > 0) {
+                        await confirmUploads(created.confirmUrl, result.uploaded);
+                    }
+                    if (result.failed > 0) {
+                        throw new Error(result.failed + ' file(s) could not be uploaded');
+                    }
+                    window.location.href = created.redirectUrl;
+                    return;
+                }
+                if (result.failed > 0) {
+                    throw new Error(result.failed + ' file(s) could not be uploaded');
+                }
+                result.uploaded.forEach(upload => {
+                    addHidden(form, upload.input.dataset.directUploadKeys, upload.key);
+                    addHidden(form, upload.input.dataset.directUploadNames, upload.name);
+                });
+                // The bytes are already in S3; don't send them through the server again
+                inputs.forEach(input => { input.disabled = true; });
+            } catch (error) {
+                if (created) {
+                    // The shoot exists now, so posting the form again would create a second one
+                    console.error('Direct upload failed', error);
+                    alert('The shoot was created, but some files could not be uploaded. Add them again from the edit page.');
+                    window.location.href = created.editUrl;
+                    return;
+                }
+                console.error('Direct upload failed, falling back to regular upload', error);
+            }
+            form.dataset.directUploadDone = 'true';
+            form.submit();
+        });
+    });
+})();
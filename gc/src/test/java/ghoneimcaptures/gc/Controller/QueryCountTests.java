@@ -0,0 +1,194 @@
+package ghoneimcaptures.gc.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import ghoneimcaptures.gc.Config.QueryCounter;
+import ghoneimcaptures.gc.Model.Category;
+import ghoneimcaptures.gc.Model.Image;
+import ghoneimcaptures.gc.Model.ImageRendition;
+import ghoneimcaptures.gc.Model.Shoot;
+import ghoneimcaptures.gc.Model.User;
+import ghoneimcaptures.gc.Model.Video;
+import ghoneimcaptures.gc.Repositories.CategoryRepository;
+import ghoneimcaptures.gc.Repositories.ShootRepository;
+import ghoneimcaptures.gc.Repositories.UserRepository;
+import ghoneimcaptures.gc.Service.GalleryViewService;
+
+/**
+ * Pins the number of SQL statements each page runs against a database with several rows of
+ * everything. A count that goes up means a lazy association is being loaded per row again
+ * (N+1); a count that goes down is good news - lower the expectation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTests {
+
+	private static final int CATEGORIES = 3;
+	private static final int SHOOTS_PER_CATEGORY = 4;
+	private static final int IMAGES_PER_SHOOT = 5;
+	private static final int VIDEOS_PER_SHOOT = 2;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ShootRepository shootRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private GalleryViewService galleryViewService;
+
+	private Long categoryId;
+	private Long shootId;
+	private Long userId;
+
+	@BeforeAll
+	void seed() {
+		for (int c = 0; c < CATEGORIES; c++) {
+			Category category = categoryRepository.save(new Category("Category " + c, image("category-" + c, null)));
+			categoryId = category.getId();
+			for (int s = 0; s < SHOOTS_PER_CATEGORY; s++) {
+				Shoot shoot = new Shoot("Shoot " + c + "-" + s, "Description", "2024-0" + (s + 1) + "-01", "Cairo", category);
+				List<Image> images = new ArrayList<>();
+				for (int i = 0; i < IMAGES_PER_SHOOT; i++) {
+					images.add(image("shoot-" + c + "-" + s + "-" + i, shoot));
+				}
+				List<Video> videos = new ArrayList<>();
+				for (int v = 0; v < VIDEOS_PER_SHOOT; v++) {
+					videos.add(new Video("video-" + v + ".mp4", "https://cdn.example.com/shoots/v" + c + s + v + ".mp4", shoot));
+				}
+				shoot.setImages(images);
+				shoot.setVideos(videos);
+				shootId = shootRepository.save(shoot).getId();
+			}
+		}
+		for (int u = 0; u < 3; u++) {
+			User user = new User("user" + u + "@example.com", "First" + u, "Last" + u, "ADMIN");
+			user.setPassword("not-a-real-password");
+			userId = userRepository.save(user).getId();
+		}
+	}
+
+	private static Image image(String name, Shoot shoot) {
+		Image image = new Image(name + ".jpg", "https://cdn.example.com/images/" + name + ".jpg", shoot);
+		List<ImageRendition> renditions = new ArrayList<>();
+		for (int width : new int[] { 480, 960 }) {
+			renditions.add(new ImageRendition(image, width, "jpeg", "images/renditions/" + name + "-" + width + "w.jpg",
+					"https://cdn.example.com/images/renditions/" + name + "-" + width + "w.jpg"));
+		}
+		image.setRenditions(renditions);
+		return image;
+	}
+
+	@BeforeEach
+	void clearGalleryCache() {
+		galleryViewService.evictAll();
+	}
+
+	private void assertStatements(int expected, RequestBuilder request) throws Exception {
+		long before = QueryCounter.current();
+		mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+		assertEquals(expected, QueryCounter.current() - before, "SQL statements");
+	}
+
+	@Test
+	void projects() throws Exception {
+		// Categories with cover, cover renditions
+		assertStatements(2, get("/landing/projects"));
+	}
+
+	@Test
+	void categoryShoots() throws Exception {
+		// Category, shoot cards, category cover renditions, shoot covers, their renditions
+		assertStatements(5, get("/landing/projects/{id}", categoryId));
+	}
+
+	@Test
+	void shootDetails() throws Exception {
+		// Shoot, image page, renditions, videos, image count
+		assertStatements(5, get("/landing/shoot/{id}", shootId));
+	}
+
+	@Test
+	void shootImagesPage() throws Exception {
+		// Image page, renditions
+		assertStatements(2, get("/api/gallery/shoots/{id}/images", shootId).param("cursor", "0"));
+	}
+
+	@Test
+	void categoryShootsPage() throws Exception {
+		// Shoot cards, covers, their renditions
+		assertStatements(3, get("/api/gallery/categories/{id}/shoots", categoryId).param("cursor", "0"));
+	}
+
+	@Test
+	void manageShoots() throws Exception {
+		// Shoot page joined with category, image counts, video counts, category filter options
+		assertStatements(4, get("/admin/shoots"));
+	}
+
+	@Test
+	void addShootForm() throws Exception {
+		// Categories
+		assertStatements(1, get("/admin/shoots/add"));
+	}
+
+	@Test
+	void editShootForm() throws Exception {
+		// Shoot with category and images, videos, categories
+		assertStatements(3, get("/admin/shoots/edit/{id}", shootId));
+	}
+
+	@Test
+	void manageCategories() throws Exception {
+		// Category page, shoot counts
+		assertStatements(2, get("/GC/managecategories"));
+	}
+
+	@Test
+	void editCategoryForm() throws Exception {
+		// Category with image and shoots
+		assertStatements(1, get("/GC/editcategory/{id}", categoryId));
+	}
+
+	@Test
+	void manageUsers() throws Exception {
+		// User page
+		assertStatements(1, get("/GC/manageusers"));
+	}
+
+	@Test
+	void editUserForm() throws Exception {
+		// User
+		assertStatements(1, get("/GC/edituser/{id}", userId));
+	}
+
+	@Test
+	void manageJobs() throws Exception {
+		// Status counts, recent jobs
+		assertStatements(2, get("/admin/jobs"));
+	}
+}
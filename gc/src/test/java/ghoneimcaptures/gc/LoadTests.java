@@ -0,0 +1,325 @@
+package ghoneimcaptures.gc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import ghoneimcaptures.gc.Model.Category;
+import ghoneimcaptures.gc.Model.Image;
+import ghoneimcaptures.gc.Model.ImageRendition;
+import ghoneimcaptures.gc.Model.Shoot;
+import ghoneimcaptures.gc.Repositories.CategoryRepository;
+import ghoneimcaptures.gc.Repositories.ImageRepository;
+import ghoneimcaptures.gc.Repositories.ShootRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * End-to-end load run of the public gallery and the admin upload flow: the real application on
+ * a random port, H2 and a {@link LocalS3Stub} behind it, driven over HTTP by a fixed number of
+ * concurrent clients. Prints p50/p99/max latency, throughput, heap and SQL statements per
+ * request for every scenario. Tagged "load" and skipped by a normal build; run it with
+ * {@code ./mvnw test -Pload-test} and size it with the {@code load.*} system properties.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(LoadTests.class);
+
+	private static final int CATEGORIES = Integer.getInteger("load.categories", 20);
+	private static final int SHOOTS_PER_CATEGORY = Integer.getInteger("load.shoots", 10);
+	private static final int IMAGES_PER_SHOOT = Integer.getInteger("load.images", 30);
+	private static final int REQUESTS = Integer.getInteger("load.requests", 2000);
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+	private static final int UPLOAD_REQUESTS = Integer.getInteger("load.upload-requests", 200);
+	private static final int UPLOAD_IMAGES = Integer.getInteger("load.upload-images", 3);
+	private static final int UPLOAD_KB = Integer.getInteger("load.upload-kb", 64);
+	private static final int DOWNLOAD_OBJECTS = 20;
+	private static final int DOWNLOAD_KB = Integer.getInteger("load.download-kb", 256);
+
+	private static LocalS3Stub stub;
+
+	@DynamicPropertySource
+	static void s3Endpoint(DynamicPropertyRegistry registry) throws IOException {
+		stub = LocalS3Stub.start();
+		registry.add("aws.s3.endpoint", () -> stub.endpoint().toString());
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Value("${aws.s3.bucket.name}")
+	private String bucketName;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ShootRepository shootRepository;
+
+	@Autowired
+	private ImageRepository imageRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	// Plain HTTP/1.1, as browsers speak it without TLS; the JDK's h2c Upgrade would be refused
+	// for upload bodies (see SETUP.md, HTTP/2)
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	private final List<Long> categoryIds = new ArrayList<>();
+	private final List<Long> shootIds = new ArrayList<>();
+	private final List<String> report = new ArrayList<>();
+
+	@BeforeAll
+	void seed() {
+		long started = System.nanoTime();
+		for (int c = 0; c < CATEGORIES; c++) {
+			Category category = categoryRepository.save(new Category("Category " + c, image("category-" + c, null)));
+			categoryIds.add(category.getId());
+			for (int s = 0; s < SHOOTS_PER_CATEGORY; s++) {
+				Shoot shoot = new Shoot("Shoot " + c + "-" + s, "Description", "2024-01-01", "Cairo", category);
+				List<Image> images = new ArrayList<>();
+				for (int i = 0; i < IMAGES_PER_SHOOT; i++) {
+					images.add(image("shoot-" + c + "-" + s + "-" + i, shoot));
+				}
+				shoot.setImages(images);
+				shootIds.add(shootRepository.save(shoot).getId());
+			}
+		}
+		for (int d = 0; d < DOWNLOAD_OBJECTS; d++) {
+			stub.putObject(bucketName, "downloads/file-" + d + ".bin", randomBytes(DOWNLOAD_KB * 1024));
+		}
+		log.info("Seeded {} categories, {} shoots, {} images in {} ms", CATEGORIES, shootIds.size(),
+				shootIds.size() * IMAGES_PER_SHOOT, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	private static Image image(String name, Shoot shoot) {
+		Image image = new Image(name + ".jpg", "https://cdn.example.com/images/" + name + ".jpg", shoot);
+		List<ImageRendition> renditions = new ArrayList<>();
+		for (int width : new int[] { 480, 960, 1600 }) {
+			renditions.add(new ImageRendition(image, width, "jpeg", "images/renditions/" + name + "-" + width + "w.jpg",
+					"https://cdn.example.com/images/renditions/" + name + "-" + width + "w.jpg"));
+		}
+		image.setRenditions(renditions);
+		return image;
+	}
+
+	@AfterAll
+	void printReport() {
+		log.info("Load test, {} concurrent clients:\n{}\n{}", CONCURRENCY,
+				String.format("%-20s %8s %7s %9s %9s %9s %10s %10s %10s", "scenario", "requests", "errors",
+						"p50 ms", "p99 ms", "max ms", "req/s", "peak MB", "SQL/req"),
+				String.join("\n", report));
+		stub.close();
+	}
+
+	@Test
+	void projects() throws Exception {
+		run("projects", REQUESTS, () -> get("/landing/projects"), status -> status == 200);
+	}
+
+	@Test
+	void categoryShoots() throws Exception {
+		run("category shoots", REQUESTS, () -> get("/landing/projects/" + any(categoryIds)), status -> status == 200);
+	}
+
+	@Test
+	void shootDetails() throws Exception {
+		run("shoot details", REQUESTS, () -> get("/landing/shoot/" + any(shootIds)), status -> status == 200);
+	}
+
+	@Test
+	void download() throws Exception {
+		run("s3 download", REQUESTS,
+				() -> get("/api/s3/download/downloads/file-" + ThreadLocalRandom.current().nextInt(DOWNLOAD_OBJECTS) + ".bin"),
+				status -> status == 200);
+	}
+
+	@Test
+	void addShoot() throws Exception {
+		long imagesBefore = imageRepository.count();
+		AtomicInteger uploads = new AtomicInteger();
+		// A redirect back to the form means the shoot wasn't saved
+		run("admin add shoot", UPLOAD_REQUESTS, () -> {
+			uploads.incrementAndGet();
+			return addShootRequest();
+		}, status -> status == 302);
+		// Every upload carried fresh random bytes, so none of them was deduplicated away
+		assertEquals(imagesBefore + (long) uploads.get() * UPLOAD_IMAGES, imageRepository.count(), "uploaded images");
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+	private HttpRequest addShootRequest() {
+		String boundary = "load-" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		formField(body, boundary, "name", "Load shoot");
+		formField(body, boundary, "description", "Uploaded by LoadTests");
+		formField(body, boundary, "date", "2024-06-01");
+		formField(body, boundary, "location", "Cairo");
+		formField(body, boundary, "categoryId", any(categoryIds).toString());
+		for (int i = 0; i < UPLOAD_IMAGES; i++) {
+			body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"images\"; filename=\"image-" + i
+					+ ".jpg\"\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			body.writeBytes(randomBytes(UPLOAD_KB * 1024));
+			body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+		}
+		body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+		return HttpRequest.newBuilder(uri("/admin/shoots/add"))
+				.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+	}
+
+	private static void formField(ByteArrayOutputStream body, String boundary, String name, String value) {
+		body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value
+				+ "\r\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static <T> T any(List<T> values) {
+		return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		ThreadLocalRandom.current().nextBytes(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Warm up, then send {@code requests} requests from {@link #CONCURRENCY} clients and add a
+	 * line to the report. Fails if any response status isn't accepted.
+	 */
+	private void run(String scenario, int requests, Supplier<HttpRequest> request, IntPredicate accepted) throws Exception {
+		drive(Math.min(requests / 10, 100), request, accepted);
+
+		List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.toList();
+		heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+		double[] queriesBefore = queries();
+
+		long started = System.nanoTime();
+		Result result = drive(requests, request, accepted);
+		long elapsed = System.nanoTime() - started;
+
+		double[] queriesAfter = queries();
+		long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+		double measured = queriesAfter[0] - queriesBefore[0];
+		long[] latencies = result.latencies();
+		Arrays.sort(latencies);
+
+		report.add(String.format("%-20s %8d %7d %9.1f %9.1f %9.1f %10.1f %10d %10.1f", scenario, requests,
+				result.errors(), millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+				millis(latencies[latencies.length - 1]), requests / (elapsed / 1e9), peakHeap / (1024 * 1024),
+				measured > 0 ? (queriesAfter[1] - queriesBefore[1]) / measured : 0));
+		assertEquals(0, result.errors(), scenario + ": failed requests");
+	}
+
+	private Result drive(int requests, Supplier<HttpRequest> request, IntPredicate accepted) throws Exception {
+		long[] latencies = new long[requests];
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int c = 0; c < CONCURRENCY; c++) {
+				workers.add(clients.submit(() -> {
+					for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+						HttpRequest httpRequest = request.get();
+						long started = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+							if (!accepted.test(response.statusCode())) {
+								errors.incrementAndGet();
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+						}
+						latencies[i] = System.nanoTime() - started;
+					}
+					return null;
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+		return new Result(latencies, errors.get());
+	}
+
+	/**
+	 * Requests measured so far and SQL statements they ran, from QueryCountFilter's metric
+	 */
+	private double[] queries() {
+		double count = 0;
+		double total = 0;
+		for (DistributionSummary summary : meterRegistry.find("http.server.requests.queries").summaries()) {
+			count += summary.count();
+			total += summary.totalAmount();
+		}
+		return new double[] { count, total };
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private record Result(long[] latencies, int errors) {
+	}
+}
@@ -0,0 +1,280 @@
+package ghoneimcaptures.gc;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Just enough of the S3 REST API, in memory and over loopback HTTP, for S3Service's transfer
+ * paths: put/get/head/delete of objects (with byte ranges) and multipart uploads. Path-style
+ * addressing only and no auth checks. Single-part objects get MD5 ETags like real S3, so the
+ * SDK's checksum validation passes; bodies sent with aws-chunked encoding are unwrapped.
+ * Used by the load tests and, through the test jar, by gc-benchmarks.
+ */
+public final class LocalS3Stub implements AutoCloseable {
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+	private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+	private final AtomicLong ids = new AtomicLong();
+
+	private LocalS3Stub(HttpServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Start a stub on a free loopback port
+	 */
+	public static LocalS3Stub start() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		LocalS3Stub stub = new LocalS3Stub(server);
+		server.createContext("/", stub::handle);
+		server.setExecutor(stub.executor);
+		server.start();
+		return stub;
+	}
+
+	public URI endpoint() {
+		return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+	}
+
+	/**
+	 * Store an object directly, e.g. the source of download benchmarks
+	 */
+	public void putObject(String bucket, String key, byte[] content) {
+		objects.put(bucket + "/" + key, new StoredObject(content, md5ETag(content)));
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String path = exchange.getRequestURI().getRawPath().substring(1);
+			int slash = path.indexOf('/');
+			if (slash < 0) {
+				error(exchange, 400, "InvalidRequest");
+				return;
+			}
+			String bucket = decode(path.substring(0, slash));
+			String key = decode(path.substring(slash + 1));
+			String objectId = bucket + "/" + key;
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			switch (exchange.getRequestMethod()) {
+				case "PUT" -> {
+					byte[] body = readBody(exchange);
+					String eTag = md5ETag(body);
+					if (query.containsKey("uploadId")) {
+						Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+						if (parts == null) {
+							error(exchange, 404, "NoSuchUpload");
+							return;
+						}
+						parts.put(Integer.valueOf(query.get("partNumber")), body);
+					} else {
+						objects.put(objectId, new StoredObject(body, eTag));
+					}
+					exchange.getResponseHeaders().set("ETag", eTag);
+					exchange.sendResponseHeaders(200, -1);
+				}
+				case "POST" -> {
+					readBody(exchange);
+					if (query.containsKey("uploads")) {
+						String uploadId = Long.toString(ids.incrementAndGet());
+						uploads.put(uploadId, new TreeMap<>());
+						xml(exchange, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+								+ "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+					} else if (query.containsKey("uploadId")) {
+						Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+						if (parts == null) {
+							error(exchange, 404, "NoSuchUpload");
+							return;
+						}
+						ByteArrayOutputStream content = new ByteArrayOutputStream();
+						for (byte[] part : parts.values()) {
+							content.writeBytes(part);
+						}
+						// Real multipart ETags aren't an MD5 of the content either, and carry the part count
+						String eTag = "\"" + Long.toHexString(ids.incrementAndGet()) + "-" + parts.size() + "\"";
+						objects.put(objectId, new StoredObject(content.toByteArray(), eTag));
+						xml(exchange, "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+								+ "</Key><ETag>" + eTag + "</ETag></CompleteMultipartUploadResult>");
+					} else {
+						error(exchange, 400, "InvalidRequest");
+					}
+				}
+				case "GET", "HEAD" -> {
+					StoredObject object = objects.get(objectId);
+					if (object == null) {
+						error(exchange, 404, "NoSuchKey");
+						return;
+					}
+					sendObject(exchange, object);
+				}
+				case "DELETE" -> {
+					if (query.containsKey("uploadId")) {
+						uploads.remove(query.get("uploadId"));
+					} else {
+						objects.remove(objectId);
+					}
+					exchange.sendResponseHeaders(204, -1);
+				}
+				default -> error(exchange, 405, "MethodNotAllowed");
+			}
+		}
+	}
+
+	private void sendObject(HttpExchange exchange, StoredObject object) throws IOException {
+		byte[] content = object.content();
+		int start = 0;
+		int end = content.length - 1;
+		int status = 200;
+		String range = exchange.getRequestHeaders().getFirst("Range");
+		if (range != null && range.startsWith("bytes=")) {
+			String[] bounds = range.substring("bytes=".length()).split("-", 2);
+			if (bounds[0].isEmpty()) {
+				// Suffix range: the last n bytes
+				start = Math.max(0, content.length - Integer.parseInt(bounds[1]));
+			} else {
+				start = Integer.parseInt(bounds[0]);
+			}
+			if (!bounds[0].isEmpty() && !bounds[1].isEmpty()) {
+				end = Math.min(end, Integer.parseInt(bounds[1]));
+			}
+			status = 206;
+			exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+		}
+		int length = end - start + 1;
+		exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+		exchange.getResponseHeaders().set("ETag", object.eTag());
+		if ("HEAD".equals(exchange.getRequestMethod())) {
+			exchange.getResponseHeaders().set("Content-Length", Integer.toString(length));
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+		exchange.sendResponseHeaders(status, length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content, start, length);
+		}
+	}
+
+	private static String md5ETag(byte[] content) {
+		try {
+			return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void xml(HttpExchange exchange, String body) throws IOException {
+		byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static void error(HttpExchange exchange, int status, String code) throws IOException {
+		readBody(exchange);
+		if ("HEAD".equals(exchange.getRequestMethod())) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+		byte[] bytes = ("<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * The request body, unwrapped from aws-chunked framing ("size;chunk-signature=...\r\n data \r\n")
+	 * when the SDK used it
+	 */
+	private static byte[] readBody(HttpExchange exchange) throws IOException {
+		byte[] raw;
+		try (InputStream in = exchange.getRequestBody()) {
+			raw = in.readAllBytes();
+		}
+		String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+		String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+		boolean awsChunked = (sha != null && sha.startsWith("STREAMING-"))
+				|| (encoding != null && encoding.contains("aws-chunked"));
+		if (!awsChunked) {
+			return raw;
+		}
+
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream(raw.length);
+		int position = 0;
+		while (position < raw.length) {
+			int lineEnd = indexOfCrlf(raw, position);
+			String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+			int semicolon = header.indexOf(';');
+			int size = Integer.parseInt(semicolon >= 0 ? header.substring(0, semicolon) : header.trim(), 16);
+			if (size == 0) {
+				break;
+			}
+			decoded.write(raw, lineEnd + 2, size);
+			position = lineEnd + 2 + size + 2;
+		}
+		return decoded.toByteArray();
+	}
+
+	private static int indexOfCrlf(byte[] bytes, int from) {
+		for (int i = from; i < bytes.length - 1; i++) {
+			if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+				return i;
+			}
+		}
+		return bytes.length;
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return query;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals < 0) {
+				query.put(decode(pair), "");
+			} else {
+				query.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+			}
+		}
+		return query;
+	}
+
+	private static String decode(String value) {
+		return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+	}
+
+	private record StoredObject(byte[] content, String eTag) {
+	}
+}
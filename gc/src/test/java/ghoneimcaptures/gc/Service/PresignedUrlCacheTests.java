@@ -0,0 +1,69 @@
+package ghoneimcaptures.gc.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class PresignedUrlCacheTests {
+
+	private final MutableClock clock = new MutableClock();
+	private final PresignedUrlCache cache = new PresignedUrlCache(100, clock);
+	private final AtomicInteger signed = new AtomicInteger();
+
+	private String presign() {
+		return "https://example.com/object?sig=" + signed.incrementAndGet();
+	}
+
+	@Test
+	void reusesUrlUntilItNearsExpiry() {
+		String first = cache.get("bucket", "shoots/1/a.jpg", Duration.ofHours(1), this::presign);
+
+		clock.advance(Duration.ofMinutes(50));
+		assertEquals(first, cache.get("bucket", "shoots/1/a.jpg", Duration.ofHours(1), this::presign));
+
+		clock.advance(Duration.ofMinutes(5));
+		String refreshed = cache.get("bucket", "shoots/1/a.jpg", Duration.ofHours(1), this::presign);
+		assertEquals(2, signed.get());
+		assertEquals("https://example.com/object?sig=2", refreshed);
+	}
+
+	@Test
+	void keysByObjectAndRequestedLifetime() {
+		cache.get("bucket", "a.jpg", Duration.ofHours(1), this::presign);
+		cache.get("bucket", "a.jpg", Duration.ofMinutes(5), this::presign);
+		cache.get("bucket", "b.jpg", Duration.ofHours(1), this::presign);
+		cache.get("bucket", "a.jpg", Duration.ofHours(1), this::presign);
+
+		assertEquals(3, signed.get());
+		assertEquals(3, cache.size());
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}